@@ -0,0 +1,170 @@
+package com.oriontek.customermanagement.security;
+
+import com.oriontek.customermanagement.entity.User;
+import com.oriontek.customermanagement.enums.Role;
+import com.oriontek.customermanagement.service.TokenRevocationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks del camino de autenticación por request.
+ *
+ * Cada operación se mide con el cache de tokens verificados activo ("cached")
+ * y con un cache de tamaño 0 ("uncached"), que obliga a verificar la firma siempre.
+ * Los benchmarks "Rejected" usan un token con la firma alterada (cache negativo).
+ * Los benchmarks del filtro limpian el SecurityContext al final de cada llamada, como lo hace
+ * Spring Security al terminar una request, en lugar de usar un @TearDown(Level.Invocation)
+ * que distorsiona las mediciones de operaciones de nanosegundos.
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec (incluye -prof gc para gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthHotPathBenchmark {
+
+    private static final String SECRET = "dGVzdC1zZWNyZXQta2V5LWZvci1qd3Qtc2lnbmluZy0yNTYtYml0cy1sb25n";
+
+    private JwtService cachedJwtService;
+    private JwtService uncachedJwtService;
+    private JwtAuthenticationFilter cachedFilter;
+    private JwtAuthenticationFilter uncachedFilter;
+    private User user;
+    private String token;
+    private String authorizationHeader;
+    private String tamperedAuthorizationHeader;
+
+    private final FilterChain noOpChain = (request, response) -> { };
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        user = User.builder()
+                .id(42L)
+                .email("admin@oriontek.com")
+                .password("{bcrypt}hash")
+                .firstName("Admin")
+                .lastName("OrionTek")
+                .role(Role.ADMIN)
+                .active(true)
+                .tokenVersion(0L)
+                .build();
+
+        cachedJwtService = createJwtService(10_000);
+        uncachedJwtService = createJwtService(0);
+
+        token = cachedJwtService.generateToken(user);
+        authorizationHeader = "Bearer " + token;
+        tamperedAuthorizationHeader = "Bearer " + token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        UserDetailsService userDetailsService = username -> user;
+        cachedFilter = createFilter(cachedJwtService, userDetailsService);
+        uncachedFilter = createFilter(uncachedJwtService, userDetailsService);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedJwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Boolean isTokenValidCached() {
+        return cachedJwtService.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public Boolean isTokenValidUncached() {
+        return uncachedJwtService.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public String extractUsernameCached() {
+        return cachedJwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public String extractUsernameUncached() {
+        return uncachedJwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public Boolean isValidTokenFormat() {
+        return cachedJwtService.isValidTokenFormat(token);
+    }
+
+    @Benchmark
+    public void filterCached(Blackhole blackhole) throws Exception {
+        runFilter(cachedFilter, blackhole);
+    }
+
+    @Benchmark
+    public void filterUncached(Blackhole blackhole) throws Exception {
+        runFilter(uncachedFilter, blackhole);
+    }
+
+    @Benchmark
+    public void filterRejectedCached(Blackhole blackhole) throws Exception {
+        runFilter(cachedFilter, tamperedAuthorizationHeader, blackhole);
+    }
+
+    @Benchmark
+    public void filterRejectedUncached(Blackhole blackhole) throws Exception {
+        runFilter(uncachedFilter, tamperedAuthorizationHeader, blackhole);
+    }
+
+    private void runFilter(JwtAuthenticationFilter filter, Blackhole blackhole) throws Exception {
+        runFilter(filter, authorizationHeader, blackhole);
+    }
+
+    private void runFilter(JwtAuthenticationFilter filter, String header, Blackhole blackhole) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/customers");
+        request.addHeader("Authorization", header);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        try {
+            filter.doFilterInternal(request, response, noOpChain);
+            blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static JwtService createJwtService(long cacheSize) {
+        JwtService jwtService = new JwtService(new VerifiedTokenCache(cacheSize, Duration.ofMinutes(10), cacheSize, Duration.ofMinutes(1)));
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtService, "jwtAlgorithm", "HS256");
+        ReflectionTestUtils.setField(jwtService, "eddsaPrivateKey", "");
+        ReflectionTestUtils.setField(jwtService, "eddsaPublicKey", "");
+        jwtService.init();
+        return jwtService;
+    }
+
+    private static JwtAuthenticationFilter createFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+        TokenRevocationService revocationService = new TokenRevocationService(
+                null, new SimpleMeterRegistry(), 256, Duration.ofMinutes(1), 1_000, Duration.ofSeconds(10));
+        return new JwtAuthenticationFilter(jwtService, userDetailsService, null, revocationService);
+    }
+}
@@ -1,7 +1,12 @@
 package com.oriontek.customermanagement.config;
 
+import com.oriontek.customermanagement.security.ApiKeyAuthenticationFilter;
+import com.oriontek.customermanagement.security.BCryptCostCalibrator;
 import com.oriontek.customermanagement.security.JwtAuthenticationFilter;
+import com.oriontek.customermanagement.security.TimedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -13,8 +18,10 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -22,14 +29,16 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Configuración de seguridad para la aplicación.
  *
  * Esta clase configura:
- * - Autenticación JWT
+ * - Autenticación JWT y por API key (header X-API-Key)
  * - Autorización por roles
  * - CORS para frontend
  * - Rutas públicas y protegidas
@@ -42,14 +51,34 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final ApiKeyAuthenticationFilter apiKeyAuthFilter;
     private final UserDetailsService userDetailsService;
+    private final UserDetailsPasswordService userDetailsPasswordService;
+
+    @Value("${app.security.password.bcrypt-cost:12}")
+    private int bcryptCost;
+
+    @Value("${app.security.password.calibrate:false}")
+    private boolean calibratePasswordCost;
+
+    @Value("${app.security.password.target-time:PT0.25S}")
+    private Duration passwordTargetTime;
+
+    @Value("${app.security.password.min-cost:10}")
+    private int minPasswordCost;
+
+    @Value("${app.security.password.max-cost:14}")
+    private int maxPasswordCost;
 
     /**
      * Configuración principal de seguridad.
      * Define qué rutas están protegidas y cómo se maneja la autenticación.
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity http,
+            AuthenticationProvider authenticationProvider
+    ) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
 
@@ -67,7 +96,9 @@ public class SecurityConfig {
                                 "/actuator/health"        // Health check
                         ).permitAll()
                         .requestMatchers(
-                                "/api/admin/users/**"
+                                "/api/admin/users/**",
+                                "/api/admin/api-keys/**",
+                                "/actuator/metrics/**"     // Métricas (caches, pools)
                         ).hasRole("SUPERADMIN")
                         .requestMatchers(
                                 "/api/customers/**"
@@ -82,9 +113,10 @@ public class SecurityConfig {
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
 
-                .authenticationProvider(authenticationProvider())
+                .authenticationProvider(authenticationProvider)
 
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(apiKeyAuthFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -138,20 +170,39 @@ public class SecurityConfig {
     /**
      * Bean para encriptar contraseñas usando BCrypt.
      * BCrypt es uno de los algoritmos más seguros para hash de contraseñas.
+     *
+     * Los hashes se guardan con prefijo {bcrypt} para poder cambiar de costo o algoritmo;
+     * los hashes antiguos sin prefijo se siguen verificando con BCrypt y se actualizan
+     * en el siguiente login exitoso. Con app.security.password.calibrate=true el costo
+     * se calibra al arrancar contra el tiempo objetivo en el host actual.
+     * La latencia de cada hash se publica como métrica auth.password.hash.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        int cost = calibratePasswordCost
+                ? BCryptCostCalibrator.calibrate(passwordTargetTime, minPasswordCost, maxPasswordCost)
+                : bcryptCost;
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(cost);
+        DelegatingPasswordEncoder delegatingEncoder = new DelegatingPasswordEncoder(
+                "bcrypt",
+                Map.of("bcrypt", bcrypt)
+        );
+        delegatingEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return new TimedPasswordEncoder(delegatingEncoder, meterRegistry);
     }
 
     /**
      * Proveedor de autenticación que usa nuestro UserDetailsService.
+     * Tras un login exitoso re-hashea la contraseña si su hash está desactualizado.
      */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return authProvider;
     }
 
@@ -70,7 +70,8 @@ import org.springframework.context.annotation.Configuration;
                 )
         },
         security = {
-                @SecurityRequirement(name = "bearerAuth")
+                @SecurityRequirement(name = "bearerAuth"),
+                @SecurityRequirement(name = "apiKeyAuth")
         }
 )
 @SecurityScheme(
@@ -88,6 +89,13 @@ import org.springframework.context.annotation.Configuration;
         bearerFormat = "JWT",
         in = SecuritySchemeIn.HEADER
 )
+@SecurityScheme(
+        name = "apiKeyAuth",
+        description = "API key para integraciones, emitida por un SUPERADMIN en /api/admin/api-keys",
+        type = SecuritySchemeType.APIKEY,
+        paramName = "X-API-Key",
+        in = SecuritySchemeIn.HEADER
+)
 public class SwaggerConfig {
 
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.oriontek.customermanagement.controller;
+
+import com.oriontek.customermanagement.dto.request.AddressSearchRequest;
+import com.oriontek.customermanagement.dto.response.AddressSearchResult;
+import com.oriontek.customermanagement.dto.response.AuthResponse;
+import com.oriontek.customermanagement.enums.AddressType;
+import com.oriontek.customermanagement.service.AddressService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST para búsqueda de direcciones.
+ * ADMIN y SUPERADMIN pueden acceder a estos endpoints.
+ *
+ * Endpoints disponibles:
+ * - GET /api/addresses - Buscar direcciones por ciudad, provincia, país, código postal y tipo
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/addresses")
+@RequiredArgsConstructor
+@Tag(name = "Address Search", description = "Búsqueda de direcciones (ADMIN y SUPERADMIN)")
+@SecurityRequirement(name = "bearerAuth")
+public class AddressController {
+
+    private final AddressService addressService;
+
+    /**
+     * Busca direcciones activas con filtros opcionales y paginación.
+     * SUPERADMIN puede filtrar por creador, ADMIN solo ve las direcciones de sus clientes.
+     */
+    @Operation(
+            summary = "Buscar direcciones",
+            description = "Busca direcciones activas por ciudad, provincia, país, código postal y tipo. " +
+                    "Con prefix=true los filtros de texto se comparan por prefijo. SUPERADMIN puede filtrar por ownerId."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Búsqueda completada"),
+            @ApiResponse(responseCode = "403", description = "No tiene permisos")
+    })
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPERADMIN')")
+    public ResponseEntity<AuthResponse<Page<AddressSearchResult>>> searchAddresses(
+            @Parameter(description = "Ciudad") @RequestParam(required = false) String city,
+            @Parameter(description = "Estado o provincia") @RequestParam(required = false) String state,
+            @Parameter(description = "País") @RequestParam(required = false) String country,
+            @Parameter(description = "Código postal") @RequestParam(required = false) String zipCode,
+            @Parameter(description = "Tipo de dirección") @RequestParam(required = false) AddressType type,
+            @Parameter(description = "ID del usuario que creó los clientes (solo SUPERADMIN)") @RequestParam(required = false) Long ownerId,
+            @Parameter(description = "Comparar los filtros de texto por prefijo") @RequestParam(defaultValue = "false") boolean prefix,
+            @PageableDefault(size = 20, sort = "id") Pageable pageable
+    ) {
+        try {
+            AddressSearchRequest request = new AddressSearchRequest(city, state, country, zipCode, type, ownerId, prefix);
+            Page<AddressSearchResult> addresses = addressService.searchAddresses(request, pageable);
+
+            return ResponseEntity.ok(
+                    AuthResponse.loginSuccess("Búsqueda completada", addresses)
+            );
+
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(AuthResponse.authError(e.getMessage(), "AUTH_INSUFFICIENT_PERMISSIONS"));
+        }
+    }
+}
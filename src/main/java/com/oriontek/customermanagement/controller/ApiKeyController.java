@@ -0,0 +1,131 @@
+package com.oriontek.customermanagement.controller;
+
+import com.oriontek.customermanagement.dto.request.CreateApiKeyRequest;
+import com.oriontek.customermanagement.dto.response.ApiKeyResponse;
+import com.oriontek.customermanagement.dto.response.AuthResponse;
+import com.oriontek.customermanagement.service.ApiKeyService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST para gestión de API keys.
+ * Solo SUPERADMIN puede acceder a estos endpoints.
+ *
+ * Endpoints disponibles:
+ * - POST /api/admin/api-keys - Crear API key para un usuario ADMIN
+ * - GET /api/admin/api-keys - Listar API keys (opcionalmente por owner)
+ * - DELETE /api/admin/api-keys/{id} - Revocar API key
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/api-keys")
+@RequiredArgsConstructor
+@Tag(name = "API Key Management", description = "Gestión de API keys para integraciones (Solo SUPERADMIN)")
+@SecurityRequirement(name = "bearerAuth")
+public class ApiKeyController {
+
+    private final ApiKeyService apiKeyService;
+
+    /**
+     * Crea una API key para un usuario ADMIN.
+     */
+    @Operation(
+            summary = "Crear API key",
+            description = "Crea una API key que actúa en nombre de un usuario ADMIN. La key solo se muestra en esta respuesta; se envía en el header X-API-Key."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "API key creada"),
+            @ApiResponse(responseCode = "400", description = "Owner inválido o datos de entrada inválidos"),
+            @ApiResponse(responseCode = "403", description = "No tiene permisos (solo SUPERADMIN)")
+    })
+    @PostMapping
+    @PreAuthorize("hasRole('SUPERADMIN')")
+    public ResponseEntity<AuthResponse<ApiKeyResponse>> createApiKey(
+            @Valid @RequestBody CreateApiKeyRequest request
+    ) {
+        try {
+            log.info("Solicitud de creación de API key para usuario ID: {}", request.ownerId());
+
+            ApiKeyResponse apiKey = apiKeyService.createApiKey(request);
+
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(AuthResponse.loginSuccess("API key creada exitosamente", apiKey));
+
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(AuthResponse.authError(e.getMessage(), "AUTH_INSUFFICIENT_PERMISSIONS"));
+
+        } catch (RuntimeException e) {
+            log.error("Error al crear API key: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(AuthResponse.authError(e.getMessage(), "API_KEY_CREATION_ERROR"));
+        }
+    }
+
+    /**
+     * Lista las API keys, opcionalmente filtradas por owner.
+     */
+    @Operation(
+            summary = "Listar API keys",
+            description = "Obtiene las API keys (sin el valor en claro), opcionalmente filtradas por usuario owner"
+    )
+    @GetMapping
+    @PreAuthorize("hasRole('SUPERADMIN')")
+    public ResponseEntity<AuthResponse<List<ApiKeyResponse>>> getApiKeys(
+            @Parameter(description = "ID del usuario owner") @RequestParam(required = false) Long ownerId
+    ) {
+        try {
+            List<ApiKeyResponse> apiKeys = apiKeyService.getApiKeys(ownerId);
+
+            return ResponseEntity.ok(
+                    AuthResponse.loginSuccess("API keys obtenidas exitosamente", apiKeys)
+            );
+
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(AuthResponse.authError(e.getMessage(), "AUTH_INSUFFICIENT_PERMISSIONS"));
+        }
+    }
+
+    /**
+     * Revoca una API key.
+     */
+    @Operation(
+            summary = "Revocar API key",
+            description = "Revoca una API key. Deja de ser aceptada en todos los nodos en cuanto se recarga el índice."
+    )
+    @DeleteMapping("/{apiKeyId}")
+    @PreAuthorize("hasRole('SUPERADMIN')")
+    public ResponseEntity<AuthResponse<Void>> revokeApiKey(
+            @Parameter(description = "ID de la API key") @PathVariable Long apiKeyId
+    ) {
+        try {
+            apiKeyService.revokeApiKey(apiKeyId);
+
+            return ResponseEntity.ok(
+                    AuthResponse.logoutSuccess("API key revocada exitosamente")
+            );
+
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(AuthResponse.authError(e.getMessage(), "AUTH_INSUFFICIENT_PERMISSIONS"));
+
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(AuthResponse.authError(e.getMessage(), "API_KEY_NOT_FOUND"));
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package com.oriontek.customermanagement.controller;
 
+import com.oriontek.customermanagement.dto.request.BatchValidateRequest;
 import com.oriontek.customermanagement.dto.request.LoginRequest;
+import com.oriontek.customermanagement.dto.request.RefreshTokenRequest;
 import com.oriontek.customermanagement.dto.response.AuthResponse;
 import com.oriontek.customermanagement.dto.response.LoginResponse;
+import com.oriontek.customermanagement.dto.response.TokenValidationResult;
+import com.oriontek.customermanagement.security.ClientIpResolver;
+import com.oriontek.customermanagement.security.LoginExecutor;
+import com.oriontek.customermanagement.security.LoginRateLimiter;
 import com.oriontek.customermanagement.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,19 +22,28 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * Controlador REST para operaciones de autenticación.
  *
  * Endpoints disponibles:
  * - POST /api/auth/login - Autenticar usuario
  * - POST /api/auth/validate - Validar token
+ * - POST /api/auth/validate/batch - Validar un lote de tokens
+ * - POST /api/auth/refresh - Renovar el token con un refresh token
  * - GET /api/auth/me - Obtener información del usuario actual
+ * - POST /api/auth/logout - Revocar token
  */
 @Slf4j
 @RestController
@@ -38,6 +53,9 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final LoginExecutor loginExecutor;
+    private final LoginRateLimiter loginRateLimiter;
+    private final ClientIpResolver clientIpResolver;
 
     /**
      * Endpoint para autenticar un usuario.
@@ -99,6 +117,14 @@ public class AuthController {
                             )
                     )
             ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Demasiados intentos de login desde la IP o para la cuenta"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Servicio de autenticación saturado, reintentar más tarde"
+            ),
             @ApiResponse(
                     responseCode = "403",
                     description = "Usuario inactivo",
@@ -118,38 +144,78 @@ public class AuthController {
             )
     })
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse<LoginResponse>> login(
+    public CompletableFuture<ResponseEntity<AuthResponse<LoginResponse>>> login(
             @Valid @RequestBody LoginRequest loginRequest,
             HttpServletRequest request
     ) {
-        String clientIp = getClientIpAddress(request);
+        String clientIp = clientIpResolver.resolve(request);
         log.info("Intento de login para usuario: {} desde IP: {}", loginRequest.email(), clientIp);
 
+        if (!loginRateLimiter.tryAcquire(clientIp, loginRequest.email())) {
+            log.warn("Demasiados intentos de login para usuario: {} desde IP: {}", loginRequest.email(), clientIp);
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                            .header(HttpHeaders.RETRY_AFTER, "60")
+                            .body(AuthResponse.authError(
+                                    "Demasiados intentos de login, intente más tarde",
+                                    "AUTH_TOO_MANY_ATTEMPTS"))
+            );
+        }
+
         try {
-            LoginResponse loginResponse = authService.authenticate(loginRequest);
+            return loginExecutor.submit(() -> authService.authenticate(loginRequest))
+                    .handle((loginResponse, error) -> {
+                        if (error != null) {
+                            return loginErrorResponse(error, loginRequest.email(), clientIp);
+                        }
 
-            log.info("Login exitoso para usuario: {} desde IP: {}", loginRequest.email(), clientIp);
+                        log.info("Login exitoso para usuario: {} desde IP: {}", loginRequest.email(), clientIp);
 
-            return ResponseEntity.ok(
-                    AuthResponse.loginSuccess("Login exitoso", loginResponse)
+                        return ResponseEntity.ok(
+                                AuthResponse.loginSuccess("Login exitoso", loginResponse)
+                        );
+                    });
+
+        } catch (RejectedExecutionException e) {
+            log.warn("Pool de login saturado, rechazando login de usuario: {} desde IP: {}",
+                    loginRequest.email(), clientIp);
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                            .header(HttpHeaders.RETRY_AFTER, "1")
+                            .body(AuthResponse.authError(
+                                    "Servicio de autenticación saturado, intente nuevamente",
+                                    "AUTH_SERVICE_BUSY"))
             );
+        }
+    }
 
-        } catch (BadCredentialsException e) {
-            log.warn("Credenciales inválidas para usuario: {} desde IP: {}", loginRequest.email(), clientIp);
+    /**
+     * Convierte el error de un login en la respuesta HTTP correspondiente.
+     */
+    private ResponseEntity<AuthResponse<LoginResponse>> loginErrorResponse(
+            Throwable error,
+            String email,
+            String clientIp
+    ) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+
+        if (cause instanceof BadCredentialsException) {
+            log.warn("Credenciales inválidas para usuario: {} desde IP: {}", email, clientIp);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(AuthResponse.invalidCredentials("Email o contraseña incorrectos"));
+        }
 
-        } catch (DisabledException e) {
-            log.warn("Usuario inactivo intento login: {} desde IP: {}", loginRequest.email(), clientIp);
+        if (cause instanceof DisabledException) {
+            log.warn("Usuario inactivo intento login: {} desde IP: {}", email, clientIp);
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(AuthResponse.userInactive("Cuenta de usuario deshabilitada"));
-
-        } catch (Exception e) {
-            log.error("Error interno durante login para usuario: {} desde IP: {}",
-                    loginRequest.email(), clientIp, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(AuthResponse.authError("Error interno del servidor", "AUTH_INTERNAL_ERROR"));
         }
+
+        log.error("Error interno durante login para usuario: {} desde IP: {}", email, clientIp, cause);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(AuthResponse.authError("Error interno del servidor", "AUTH_INTERNAL_ERROR"));
     }
 
     /**
@@ -199,6 +265,33 @@ public class AuthController {
         }
     }
 
+    /**
+     * Endpoint para validar varios tokens en una sola llamada.
+     *
+     * @param batchRequest Lote de tokens a validar
+     * @return Un resultado por token, en el mismo orden de la solicitud
+     */
+    @Operation(
+            summary = "Validar lote de tokens",
+            description = "Valida hasta 500 tokens JWT y devuelve un resultado por token"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote procesado"),
+            @ApiResponse(responseCode = "400", description = "Lote vacío o demasiado grande")
+    })
+    @PostMapping("/validate/batch")
+    public ResponseEntity<AuthResponse<List<TokenValidationResult>>> validateTokens(
+            @Valid @RequestBody BatchValidateRequest batchRequest
+    ) {
+        List<TokenValidationResult> results = authService.validateTokens(batchRequest.tokens());
+        long validCount = results.stream().filter(TokenValidationResult::valid).count();
+
+        log.debug("Lote de tokens validado: {} de {} válidos", validCount, results.size());
+        return ResponseEntity.ok(
+                AuthResponse.loginSuccess("Lote de tokens procesado", results)
+        );
+    }
+
     /**
      * Endpoint para obtener información del usuario actualmente autenticado.
      *
@@ -234,36 +327,76 @@ public class AuthController {
     }
 
     /**
-     * Endpoint para hacer logout (invalidar token del lado del cliente).
-     * Como JWT es stateless, el logout real se hace eliminando el token del frontend.
+     * Endpoint para renovar el token de acceso con un refresh token.
+     * No verifica la contraseña: cuesta una búsqueda por índice y una firma del nuevo token.
+     *
+     * @param refreshRequest Refresh token emitido en el login o en la renovación anterior
+     * @return Nuevo token de acceso y nuevo refresh token
      */
     @Operation(
-            summary = "Cerrar sesión",
-            description = "Indica al cliente que debe eliminar el token JWT (logout del lado del cliente)"
+            summary = "Renovar token",
+            description = "Emite un nuevo token JWT y rota el refresh token. El refresh token recibido deja de ser válido"
     )
-    @PostMapping("/logout")
-    public ResponseEntity<AuthResponse<Void>> logout() {
-        log.info("Logout solicitado - se debe eliminar token del cliente");
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Token renovado"),
+            @ApiResponse(responseCode = "401", description = "Refresh token inválido, expirado o ya utilizado")
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse<LoginResponse>> refresh(
+            @Valid @RequestBody RefreshTokenRequest refreshRequest
+    ) {
+        try {
+            LoginResponse loginResponse = authService.refresh(refreshRequest.refreshToken());
+            return ResponseEntity.ok(
+                    AuthResponse.loginSuccess("Token renovado", loginResponse)
+            );
 
-        return ResponseEntity.ok(
-                AuthResponse.logoutSuccess("Logout exitoso - elimine el token del cliente")
-        );
+        } catch (BadCredentialsException e) {
+            log.warn("Refresh token rechazado: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(AuthResponse.authError("Refresh token inválido o expirado", "AUTH_REFRESH_INVALID"));
+        }
     }
 
     /**
-     * Obtiene la dirección IP real del cliente considerando proxies y load balancers.
+     * Endpoint para hacer logout.
+     * Si se envía el token en el header Authorization, se revoca en el servidor
+     * hasta su expiración; el cliente igualmente debe eliminarlo.
+     * Si se envía el refresh token en el body, se revoca junto con su familia.
      */
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty() && !"unknown".equalsIgnoreCase(xForwardedFor)) {
-            return xForwardedFor.split(",")[0].trim();
+    @Operation(
+            summary = "Cerrar sesión",
+            description = "Revoca el token JWT enviado en el header Authorization y le indica al cliente que lo elimine"
+    )
+    @PostMapping("/logout")
+    public ResponseEntity<AuthResponse<Void>> logout(
+            @Parameter(description = "Token JWT en formato 'Bearer {token}'")
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @RequestBody(required = false) RefreshTokenRequest refreshRequest
+    ) {
+        if (refreshRequest != null && refreshRequest.refreshToken() != null) {
+            authService.revokeRefreshToken(refreshRequest.refreshToken());
         }
 
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty() && !"unknown".equalsIgnoreCase(xRealIp)) {
-            return xRealIp;
+        String token = authService.extractTokenFromHeader(authorizationHeader);
+
+        if (token != null) {
+            try {
+                if (authService.logout(token)) {
+                    log.info("Logout solicitado - token revocado en el servidor");
+                    return ResponseEntity.ok(
+                            AuthResponse.logoutSuccess("Logout exitoso - token revocado")
+                    );
+                }
+            } catch (Exception e) {
+                log.debug("No se pudo revocar el token en logout: {}", e.getMessage());
+            }
         }
 
-        return request.getRemoteAddr();
+        log.info("Logout solicitado - se debe eliminar token del cliente");
+
+        return ResponseEntity.ok(
+                AuthResponse.logoutSuccess("Logout exitoso - elimine el token del cliente")
+        );
     }
 }
\ No newline at end of file
@@ -2,7 +2,12 @@ package com.oriontek.customermanagement.controller;
 
 import com.oriontek.customermanagement.dto.request.CreateCustomerRequest;
 import com.oriontek.customermanagement.dto.response.AuthResponse;
+import com.oriontek.customermanagement.dto.response.CursorPage;
+import com.oriontek.customermanagement.dto.response.CustomerFacets;
 import com.oriontek.customermanagement.dto.response.CustomerResponse;
+import com.oriontek.customermanagement.dto.response.CustomerSuggestion;
+import com.oriontek.customermanagement.dto.response.CustomerSummary;
+import com.oriontek.customermanagement.dto.response.FieldSelection;
 import com.oriontek.customermanagement.service.CustomerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -24,6 +29,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * Controlador REST para gestión de clientes.
  * ADMIN y SUPERADMIN pueden acceder a estos endpoints.
@@ -35,7 +43,10 @@ import org.springframework.web.bind.annotation.*;
  * - DELETE /api/customers/{id} - Desactivar cliente
  * - POST /api/customers/{id}/activate - Activar cliente
  * - GET /api/customers/search - Buscar clientes
+ * - GET /api/customers/search/ranked - Buscar clientes por relevancia
+ * - GET /api/customers/suggest - Autocompletado de clientes
  * - GET /api/customers/statistics - Estadísticas de clientes
+ * - GET /api/customers/facets - Conteos por ciudad, país y tipo de dirección
  * - GET /api/customers/by-user/{userId} - Clientes por usuario (Solo SUPERADMIN)
  */
 @Slf4j
@@ -156,6 +167,91 @@ public class CustomerController {
         }
     }
 
+    /**
+     * Lista resúmenes de clientes (view=summary): id, nombre, email, teléfono, ciudad principal y estado.
+     */
+    @Operation(
+            summary = "Listar clientes (resumen)",
+            description = "Devuelve solo los campos de la grilla, leídos como proyección sin cargar direcciones ni el creador."
+    )
+    @GetMapping(params = {"view=summary", "!cursor"})
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPERADMIN')")
+    public ResponseEntity<AuthResponse<Page<CustomerSummary>>> getCustomerSummaries(
+            @Parameter(description = "Vista de la respuesta", example = "summary") @RequestParam String view,
+            @PageableDefault(size = 20, sort = "createdAt") Pageable pageable
+    ) {
+        try {
+            Page<CustomerSummary> customers = customerService.getCustomerSummaries(pageable);
+
+            return ResponseEntity.ok(
+                    AuthResponse.loginSuccess("Clientes obtenidos exitosamente", customers)
+            );
+
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(AuthResponse.authError("No tiene permisos para ver clientes", "AUTH_INSUFFICIENT_PERMISSIONS"));
+        }
+    }
+
+    /**
+     * Lista clientes devolviendo solo los campos pedidos en fields (por ejemplo id,fullName,addresses.city).
+     */
+    @Operation(
+            summary = "Listar clientes (campos seleccionados)",
+            description = "Devuelve solo los campos indicados en fields. Las direcciones y el creador solo se cargan si se piden."
+    )
+    @GetMapping(params = {"fields", "!cursor", "!view"})
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPERADMIN')")
+    public ResponseEntity<AuthResponse<Page<Map<String, Object>>>> getAllCustomerFields(
+            @Parameter(description = "Campos separados por coma", example = "id,fullName,addresses.city") @RequestParam String fields,
+            @PageableDefault(size = 20, sort = "createdAt") Pageable pageable
+    ) {
+        try {
+            Page<Map<String, Object>> customers = customerService.getAllCustomers(FieldSelection.parse(fields), pageable);
+
+            return ResponseEntity.ok(
+                    AuthResponse.loginSuccess("Clientes obtenidos exitosamente", customers)
+            );
+
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(AuthResponse.authError("No tiene permisos para ver clientes", "AUTH_INSUFFICIENT_PERMISSIONS"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(AuthResponse.authError(e.getMessage(), "FIELDS_INVALID"));
+        }
+    }
+
+    /**
+     * Obtiene clientes con paginación por cursor (keyset sobre createdAt, id).
+     * Se selecciona cuando la petición incluye el parámetro cursor (vacío para la primera página).
+     */
+    @Operation(
+            summary = "Listar clientes por cursor",
+            description = "Paginación keyset sin conteo total. Enviar cursor vacío para la primera página y luego los cursores next/prev de la respuesta."
+    )
+    @GetMapping(params = "cursor")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPERADMIN')")
+    public ResponseEntity<AuthResponse<CursorPage<CustomerResponse>>> getAllCustomersByCursor(
+            @Parameter(description = "Cursor opaco") @RequestParam String cursor,
+            @Parameter(description = "Tamaño de página (máximo 100)") @RequestParam(defaultValue = "20") int size
+    ) {
+        try {
+            CursorPage<CustomerResponse> customers = customerService.getAllCustomers(cursor, size);
+
+            return ResponseEntity.ok(
+                    AuthResponse.loginSuccess("Clientes obtenidos exitosamente", customers)
+            );
+
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(AuthResponse.authError("No tiene permisos para ver clientes", "AUTH_INSUFFICIENT_PERMISSIONS"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(AuthResponse.authError(e.getMessage(), "PAGINATION_INVALID_CURSOR"));
+        }
+    }
+
     /**
      * Obtiene un cliente por su ID con todas sus direcciones.
      */
@@ -185,6 +281,40 @@ public class CustomerController {
         }
     }
 
+    /**
+     * Obtiene un cliente por su ID devolviendo solo los campos pedidos en fields.
+     */
+    @Operation(
+            summary = "Obtener cliente por ID (campos seleccionados)",
+            description = "Devuelve solo los campos indicados en fields. Las direcciones y el creador solo se cargan si se piden."
+    )
+    @GetMapping(value = "/{customerId}", params = "fields")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPERADMIN')")
+    public ResponseEntity<AuthResponse<Map<String, Object>>> getCustomerFieldsById(
+            @Parameter(description = "ID del cliente") @PathVariable Long customerId,
+            @Parameter(description = "Campos separados por coma", example = "id,fullName,addresses.city") @RequestParam String fields
+    ) {
+        try {
+            Map<String, Object> customer = customerService.getCustomerById(customerId, FieldSelection.parse(fields));
+
+            return ResponseEntity.ok(
+                    AuthResponse.loginSuccess("Cliente obtenido exitosamente", customer)
+            );
+
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(AuthResponse.authError("No tiene permisos para ver este cliente", "AUTH_INSUFFICIENT_PERMISSIONS"));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(AuthResponse.authError(e.getMessage(), "FIELDS_INVALID"));
+
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(AuthResponse.authError("Cliente no encontrado", "CUSTOMER_NOT_FOUND"));
+        }
+    }
+
     /**
      * Busca clientes por término de búsqueda.
      */
@@ -211,6 +341,85 @@ public class CustomerController {
         }
     }
 
+    /**
+     * Busca clientes y devuelve resúmenes (view=summary).
+     */
+    @Operation(
+            summary = "Buscar clientes (resumen)",
+            description = "Misma búsqueda que /search, pero devuelve solo los campos de la grilla."
+    )
+    @GetMapping(value = "/search", params = "view=summary")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPERADMIN')")
+    public ResponseEntity<AuthResponse<Page<CustomerSummary>>> searchCustomerSummaries(
+            @Parameter(description = "Término de búsqueda") @RequestParam String term,
+            @Parameter(description = "Vista de la respuesta", example = "summary") @RequestParam String view,
+            @PageableDefault(size = 20, sort = "createdAt") Pageable pageable
+    ) {
+        try {
+            Page<CustomerSummary> customers = customerService.searchCustomerSummaries(term, pageable);
+
+            return ResponseEntity.ok(
+                    AuthResponse.loginSuccess("Búsqueda completada", customers)
+            );
+
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(AuthResponse.authError("No tiene permisos para buscar clientes", "AUTH_INSUFFICIENT_PERMISSIONS"));
+        }
+    }
+
+    /**
+     * Búsqueda de clientes por relevancia (índice Lucene en memoria).
+     */
+    @Operation(
+            summary = "Buscar clientes por relevancia",
+            description = "Busca en nombre, email, documento y direcciones. Ordena por relevancia y tolera errores de tipeo"
+    )
+    @GetMapping("/search/ranked")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPERADMIN')")
+    public ResponseEntity<AuthResponse<Page<CustomerResponse>>> searchCustomersRanked(
+            @Parameter(description = "Término de búsqueda") @RequestParam String term,
+            @PageableDefault(size = 20) Pageable pageable
+    ) {
+        try {
+            Page<CustomerResponse> customers = customerService.searchCustomersRanked(term, pageable);
+
+            return ResponseEntity.ok(
+                    AuthResponse.loginSuccess("Búsqueda completada", customers)
+            );
+
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(AuthResponse.authError("No tiene permisos para buscar clientes", "AUTH_INSUFFICIENT_PERMISSIONS"));
+        }
+    }
+
+    /**
+     * Autocompletado de clientes (índice de prefijos en memoria).
+     */
+    @Operation(
+            summary = "Sugerencias de clientes",
+            description = "Devuelve los primeros clientes cuyo nombre, apellido, email o documento empiezan por el texto. Pensado para invocarse en cada tecla"
+    )
+    @GetMapping("/suggest")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPERADMIN')")
+    public ResponseEntity<AuthResponse<List<CustomerSuggestion>>> suggestCustomers(
+            @Parameter(description = "Texto escrito por el usuario") @RequestParam String q,
+            @Parameter(description = "Número máximo de sugerencias (máximo 25)") @RequestParam(defaultValue = "10") int limit
+    ) {
+        try {
+            List<CustomerSuggestion> suggestions = customerService.suggestCustomers(q, limit);
+
+            return ResponseEntity.ok(
+                    AuthResponse.loginSuccess("Sugerencias obtenidas", suggestions)
+            );
+
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(AuthResponse.authError("No tiene permisos para buscar clientes", "AUTH_INSUFFICIENT_PERMISSIONS"));
+        }
+    }
+
     /**
      * Desactiva un cliente (soft delete).
      */
@@ -292,6 +501,31 @@ public class CustomerController {
         }
     }
 
+    /**
+     * Conteos de clientes por ciudad, país y tipo de dirección (contadores en memoria).
+     */
+    @Operation(
+            summary = "Facetas de clientes",
+            description = "Cantidad de clientes activos por ciudad, país y tipo de dirección. SUPERADMIN ve todos, ADMIN solo los que creó."
+    )
+    @GetMapping("/facets")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPERADMIN')")
+    public ResponseEntity<AuthResponse<CustomerFacets>> getCustomerFacets(
+            @Parameter(description = "Número máximo de valores por faceta (máximo 100)") @RequestParam(defaultValue = "20") int limit
+    ) {
+        try {
+            CustomerFacets facets = customerService.getCustomerFacets(limit);
+
+            return ResponseEntity.ok(
+                    AuthResponse.loginSuccess("Facetas obtenidas exitosamente", facets)
+            );
+
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(AuthResponse.authError("No tiene permisos para ver clientes", "AUTH_INSUFFICIENT_PERMISSIONS"));
+        }
+    }
+
     /**
      * Obtiene clientes creados por un usuario específico.
      * Solo SUPERADMIN puede usar este endpoint.
@@ -318,4 +552,63 @@ public class CustomerController {
                     .body(AuthResponse.authError("Solo SUPERADMIN puede ver clientes por usuario", "AUTH_INSUFFICIENT_PERMISSIONS"));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Obtiene clientes creados por un usuario con paginación por cursor.
+     * Solo SUPERADMIN puede usar este endpoint.
+     */
+    @Operation(
+            summary = "Clientes por usuario por cursor",
+            description = "Paginación keyset de los clientes creados por un usuario. Solo SUPERADMIN puede usar este endpoint."
+    )
+    @GetMapping(value = "/by-user/{userId}", params = "cursor")
+    @PreAuthorize("hasRole('SUPERADMIN')")
+    public ResponseEntity<AuthResponse<CursorPage<CustomerResponse>>> getCustomersByUserByCursor(
+            @Parameter(description = "ID del usuario que creó los clientes") @PathVariable Long userId,
+            @Parameter(description = "Cursor opaco") @RequestParam String cursor,
+            @Parameter(description = "Tamaño de página (máximo 100)") @RequestParam(defaultValue = "20") int size
+    ) {
+        try {
+            CursorPage<CustomerResponse> customers = customerService.getCustomersByCreatedBy(userId, cursor, size);
+
+            return ResponseEntity.ok(
+                    AuthResponse.loginSuccess("Clientes obtenidos exitosamente", customers)
+            );
+
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(AuthResponse.authError("Solo SUPERADMIN puede ver clientes por usuario", "AUTH_INSUFFICIENT_PERMISSIONS"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(AuthResponse.authError(e.getMessage(), "PAGINATION_INVALID_CURSOR"));
+        }
+    }
+
+    /**
+     * Resúmenes de los clientes creados por un usuario (view=summary).
+     * Solo SUPERADMIN puede usar este endpoint.
+     */
+    @Operation(
+            summary = "Clientes por usuario (resumen)",
+            description = "Devuelve solo los campos de la grilla. Solo SUPERADMIN puede usar este endpoint."
+    )
+    @GetMapping(value = "/by-user/{userId}", params = {"view=summary", "!cursor"})
+    @PreAuthorize("hasRole('SUPERADMIN')")
+    public ResponseEntity<AuthResponse<Page<CustomerSummary>>> getCustomerSummariesByUser(
+            @Parameter(description = "ID del usuario que creó los clientes") @PathVariable Long userId,
+            @Parameter(description = "Vista de la respuesta", example = "summary") @RequestParam String view,
+            @PageableDefault(size = 20, sort = "createdAt") Pageable pageable
+    ) {
+        try {
+            Page<CustomerSummary> customers = customerService.getCustomerSummariesByCreatedBy(userId, pageable);
+
+            return ResponseEntity.ok(
+                    AuthResponse.loginSuccess("Clientes obtenidos exitosamente", customers)
+            );
+
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(AuthResponse.authError("Solo SUPERADMIN puede ver clientes por usuario", "AUTH_INSUFFICIENT_PERMISSIONS"));
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.oriontek.customermanagement.controller;
 import com.oriontek.customermanagement.dto.request.CreateUserRequest;
 import com.oriontek.customermanagement.dto.request.UpdateUserRequest;
 import com.oriontek.customermanagement.dto.response.AuthResponse;
+import com.oriontek.customermanagement.dto.response.CursorPage;
+import com.oriontek.customermanagement.dto.response.FieldSelection;
 import com.oriontek.customermanagement.dto.response.UserResponse;
 import com.oriontek.customermanagement.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -26,6 +28,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controlador REST para gestión de usuarios.
@@ -146,6 +149,64 @@ public class UserController {
         }
     }
 
+    /**
+     * Lista usuarios devolviendo solo los campos pedidos en fields (por ejemplo id,email,role).
+     */
+    @Operation(
+            summary = "Listar usuarios (campos seleccionados)",
+            description = "Devuelve solo los campos indicados en fields"
+    )
+    @GetMapping(params = {"fields", "!cursor"})
+    @PreAuthorize("hasRole('SUPERADMIN')")
+    public ResponseEntity<AuthResponse<Page<Map<String, Object>>>> getAllUserFields(
+            @Parameter(description = "Campos separados por coma", example = "id,email,role") @RequestParam String fields,
+            @PageableDefault(size = 20, sort = "createdAt") Pageable pageable
+    ) {
+        try {
+            Page<Map<String, Object>> users = userService.getAllUsers(FieldSelection.parse(fields), pageable);
+
+            return ResponseEntity.ok(
+                    AuthResponse.loginSuccess("Usuarios obtenidos exitosamente", users)
+            );
+
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(AuthResponse.authError("No tiene permisos para ver usuarios", "AUTH_INSUFFICIENT_PERMISSIONS"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(AuthResponse.authError(e.getMessage(), "FIELDS_INVALID"));
+        }
+    }
+
+    /**
+     * Obtiene todos los usuarios con paginación por cursor (keyset sobre createdAt, id).
+     */
+    @Operation(
+            summary = "Listar usuarios por cursor",
+            description = "Paginación keyset sin conteo total. Enviar cursor vacío para la primera página y luego los cursores next/prev de la respuesta."
+    )
+    @GetMapping(params = "cursor")
+    @PreAuthorize("hasRole('SUPERADMIN')")
+    public ResponseEntity<AuthResponse<CursorPage<UserResponse>>> getAllUsersByCursor(
+            @Parameter(description = "Cursor opaco") @RequestParam String cursor,
+            @Parameter(description = "Tamaño de página (máximo 100)") @RequestParam(defaultValue = "20") int size
+    ) {
+        try {
+            CursorPage<UserResponse> users = userService.getAllUsers(cursor, size);
+
+            return ResponseEntity.ok(
+                    AuthResponse.loginSuccess("Usuarios obtenidos exitosamente", users)
+            );
+
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(AuthResponse.authError("No tiene permisos para ver usuarios", "AUTH_INSUFFICIENT_PERMISSIONS"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(AuthResponse.authError(e.getMessage(), "PAGINATION_INVALID_CURSOR"));
+        }
+    }
+
     /**
      * Obtiene usuarios ADMIN activos.
      */
@@ -0,0 +1,27 @@
+package com.oriontek.customermanagement.dto.request;
+
+import com.oriontek.customermanagement.enums.AddressType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Filtros de búsqueda de direcciones. Todos son opcionales y se combinan con AND.
+ *
+ * @param city Ciudad
+ * @param state Estado o provincia
+ * @param country País
+ * @param zipCode Código postal
+ * @param type Tipo de dirección
+ * @param ownerId ID del usuario que creó los clientes (solo SUPERADMIN)
+ * @param prefix Si es true, ciudad, provincia, país y código postal se comparan por prefijo
+ */
+@Schema(description = "Filtros de búsqueda de direcciones")
+public record AddressSearchRequest(
+        String city,
+        String state,
+        String country,
+        String zipCode,
+        AddressType type,
+        Long ownerId,
+        boolean prefix
+) {
+}
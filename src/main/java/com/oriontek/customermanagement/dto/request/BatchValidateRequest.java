@@ -0,0 +1,22 @@
+package com.oriontek.customermanagement.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO para validar varios tokens JWT en una sola llamada.
+ * Pensado para gateways que necesitan validar muchos tokens a la vez.
+ */
+@Schema(description = "Lote de tokens JWT a validar")
+public record BatchValidateRequest(
+
+        @Schema(description = "Tokens JWT sin el prefijo 'Bearer '", example = "[\"eyJhbGciOiJIUzI1NiJ9...\"]")
+        @NotEmpty(message = "Debe enviar al menos un token")
+        @Size(max = 500, message = "No se pueden validar más de 500 tokens por llamada")
+        List<@NotBlank(message = "Los tokens no pueden estar vacíos") String> tokens
+) {
+}
@@ -0,0 +1,30 @@
+package com.oriontek.customermanagement.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO para crear una API key.
+ */
+@Schema(description = "Datos requeridos para crear una API key")
+public record CreateApiKeyRequest(
+
+        @Schema(description = "Nombre descriptivo de la key", example = "Job de sincronización nocturna")
+        @NotBlank(message = "El nombre es obligatorio")
+        @Size(max = 100, message = "El nombre no puede exceder 100 caracteres")
+        String name,
+
+        @Schema(description = "ID del usuario ADMIN en cuyo nombre actúa la key", example = "2")
+        @NotNull(message = "El owner es obligatorio")
+        Long ownerId,
+
+        @Schema(description = "Fecha de expiración (opcional)", example = "2025-12-31T23:59:59")
+        @Future(message = "La fecha de expiración debe ser futura")
+        LocalDateTime expiresAt
+) {
+}
@@ -0,0 +1,18 @@
+package com.oriontek.customermanagement.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO para renovar el token de acceso con un refresh token.
+ */
+@Schema(description = "Refresh token emitido en el login")
+public record RefreshTokenRequest(
+
+        @Schema(description = "Refresh token", example = "k3J9c2V...")
+        @NotBlank(message = "El refresh token es obligatorio")
+        @Size(max = 128, message = "El refresh token no es válido")
+        String refreshToken
+) {
+}
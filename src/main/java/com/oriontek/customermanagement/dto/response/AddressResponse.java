@@ -55,6 +55,25 @@ public record AddressResponse(
         LocalDateTime updatedAt
 ) {
 
+    /**
+     * Campos disponibles para respuestas con selección de campos (fields).
+     */
+    public static final FieldSelection.Schema<Address> FIELDS = new FieldSelection.Schema<Address>()
+            .field("id", Address::getId)
+            .field("street", Address::getStreet)
+            .field("city", Address::getCity)
+            .field("state", Address::getState)
+            .field("zipCode", Address::getZipCode)
+            .field("country", Address::getCountry)
+            .field("fullAddress", Address::getFullAddress)
+            .field("type", Address::getType)
+            .field("typeDisplayName", address -> address.getType().getDisplayName())
+            .field("isPrimary", Address::getIsPrimary)
+            .field("active", Address::getActive)
+            .field("notes", Address::getNotes)
+            .field("createdAt", Address::getCreatedAt)
+            .field("updatedAt", Address::getUpdatedAt);
+
     /**
      * Método factory para crear AddressResponse desde una entidad Address.
      * @param address Entidad Address
@@ -0,0 +1,28 @@
+package com.oriontek.customermanagement.dto.response;
+
+import com.oriontek.customermanagement.entity.Address;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Dirección encontrada junto con el ID del cliente al que pertenece.
+ */
+@Schema(description = "Resultado de búsqueda de direcciones")
+public record AddressSearchResult(
+
+        @Schema(description = "ID del cliente", example = "1")
+        Long customerId,
+
+        @Schema(description = "Dirección")
+        AddressResponse address
+) {
+
+    /**
+     * Crea el resultado desde una entidad Address.
+     * El ID del cliente se lee de la clave foránea sin cargar el cliente.
+     * @param address Entidad Address
+     * @return Resultado de búsqueda
+     */
+    public static AddressSearchResult fromEntity(Address address) {
+        return new AddressSearchResult(address.getCustomer().getId(), AddressResponse.fromEntity(address));
+    }
+}
@@ -0,0 +1,73 @@
+package com.oriontek.customermanagement.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.oriontek.customermanagement.entity.ApiKey;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO para respuestas con información de API keys.
+ * La key en claro solo se incluye en la respuesta de creación.
+ */
+@Schema(description = "Información de API key")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ApiKeyResponse(
+
+        @Schema(description = "ID de la API key", example = "1")
+        Long id,
+
+        @Schema(description = "Nombre descriptivo", example = "Job de sincronización nocturna")
+        String name,
+
+        @Schema(description = "Prefijo de la key para identificarla", example = "otk_3fA9xQ2")
+        String keyPrefix,
+
+        @Schema(description = "API key en claro (solo al crearla)")
+        String key,
+
+        @Schema(description = "ID del usuario owner", example = "2")
+        Long ownerId,
+
+        @Schema(description = "Email del usuario owner", example = "admin@oriontek.com")
+        String ownerEmail,
+
+        @Schema(description = "Estado activo", example = "true")
+        Boolean active,
+
+        @Schema(description = "Fecha de creación")
+        LocalDateTime createdAt,
+
+        @Schema(description = "Fecha de expiración")
+        LocalDateTime expiresAt
+) {
+
+    /**
+     * Crea un ApiKeyResponse desde la entidad, sin la key en claro.
+     * @param apiKey Entidad ApiKey
+     * @return ApiKeyResponse
+     */
+    public static ApiKeyResponse fromEntity(ApiKey apiKey) {
+        return fromEntity(apiKey, null);
+    }
+
+    /**
+     * Crea un ApiKeyResponse desde la entidad incluyendo la key en claro.
+     * @param apiKey Entidad ApiKey
+     * @param rawKey API key en claro
+     * @return ApiKeyResponse
+     */
+    public static ApiKeyResponse fromEntity(ApiKey apiKey, String rawKey) {
+        return new ApiKeyResponse(
+                apiKey.getId(),
+                apiKey.getName(),
+                apiKey.getKeyPrefix(),
+                rawKey,
+                apiKey.getOwner().getId(),
+                apiKey.getOwner().getEmail(),
+                apiKey.getActive(),
+                apiKey.getCreatedAt(),
+                apiKey.getExpiresAt()
+        );
+    }
+}
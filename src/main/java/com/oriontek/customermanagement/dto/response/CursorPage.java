@@ -0,0 +1,30 @@
+package com.oriontek.customermanagement.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Página obtenida con paginación por cursor (keyset).
+ * Los cursores son opacos y firmados; se envían tal cual en el parámetro cursor.
+ *
+ * @param <T> Tipo de los elementos
+ */
+@Schema(description = "Página con paginación por cursor")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CursorPage<T>(
+
+        @Schema(description = "Elementos de la página")
+        List<T> content,
+
+        @Schema(description = "Tamaño de página solicitado", example = "20")
+        int size,
+
+        @Schema(description = "Cursor de la página siguiente (ausente si no hay más)")
+        String next,
+
+        @Schema(description = "Cursor de la página anterior (ausente en la primera página)")
+        String prev
+) {
+}
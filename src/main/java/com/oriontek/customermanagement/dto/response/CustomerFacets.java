@@ -0,0 +1,41 @@
+package com.oriontek.customermanagement.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Conteos de clientes activos por ciudad, país y tipo de dirección.
+ * Un cliente cuenta una vez por cada valor distinto de sus direcciones activas.
+ */
+@Schema(description = "Conteos de clientes por ciudad, país y tipo de dirección")
+public record CustomerFacets(
+
+        @Schema(description = "Total de clientes activos en el alcance", example = "1250")
+        long totalCustomers,
+
+        @Schema(description = "Clientes por ciudad, de mayor a menor")
+        List<FacetCount> cities,
+
+        @Schema(description = "Clientes por país, de mayor a menor")
+        List<FacetCount> countries,
+
+        @Schema(description = "Clientes por tipo de dirección, de mayor a menor")
+        List<FacetCount> types
+) {
+
+    /**
+     * Valor de una faceta y cantidad de clientes.
+     *
+     * @param value Valor (ciudad, país o tipo)
+     * @param count Cantidad de clientes
+     */
+    @Schema(description = "Valor de faceta y cantidad de clientes")
+    public record FacetCount(
+            @Schema(description = "Valor", example = "Santo Domingo")
+            String value,
+
+            @Schema(description = "Cantidad de clientes", example = "340")
+            long count
+    ) {}
+}
@@ -55,6 +55,26 @@ public record CustomerResponse(
         LocalDateTime updatedAt
 ) {
 
+    /**
+     * Campos disponibles para respuestas con selección de campos (fields).
+     * Las direcciones y el creador solo se leen de la entidad si se piden.
+     */
+    public static final FieldSelection.Schema<Customer> FIELDS = new FieldSelection.Schema<Customer>()
+            .field("id", Customer::getId)
+            .field("firstName", Customer::getFirstName)
+            .field("lastName", Customer::getLastName)
+            .field("fullName", Customer::getFullName)
+            .field("email", Customer::getEmail)
+            .field("phone", Customer::getPhone)
+            .field("documentNumber", Customer::getDocumentNumber)
+            .field("documentType", Customer::getDocumentType)
+            .field("active", Customer::getActive)
+            .field("notes", Customer::getNotes)
+            .list("addresses", AddressResponse.FIELDS, Customer::getAddresses)
+            .object("createdBy", UserResponse.FIELDS, Customer::getCreatedBy)
+            .field("createdAt", Customer::getCreatedAt)
+            .field("updatedAt", Customer::getUpdatedAt);
+
     /**
      * Método factory para crear CustomerResponse desde una entidad Customer.
      * @param customer Entidad Customer
@@ -0,0 +1,26 @@
+package com.oriontek.customermanagement.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Sugerencia de autocompletado de cliente.
+ * Solo contiene los datos necesarios para mostrar la lista; el detalle se obtiene por ID.
+ */
+@Schema(description = "Sugerencia de cliente para autocompletado")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CustomerSuggestion(
+
+        @Schema(description = "ID del cliente", example = "1")
+        Long id,
+
+        @Schema(description = "Nombre completo", example = "María González")
+        String fullName,
+
+        @Schema(description = "Email", example = "maria.gonzalez@email.com")
+        String email,
+
+        @Schema(description = "Número de documento", example = "001-1234567-8")
+        String documentNumber
+) {
+}
@@ -0,0 +1,31 @@
+package com.oriontek.customermanagement.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Resumen de cliente para grillas y listados.
+ * Se construye directamente en la consulta JPQL (constructor expression),
+ * sin cargar entidades, direcciones ni el usuario creador.
+ */
+@Schema(description = "Resumen de un cliente")
+public record CustomerSummary(
+
+        @Schema(description = "ID del cliente", example = "1")
+        Long id,
+
+        @Schema(description = "Nombre completo", example = "María González")
+        String fullName,
+
+        @Schema(description = "Email", example = "maria.gonzalez@email.com")
+        String email,
+
+        @Schema(description = "Teléfono", example = "+1-809-555-1234")
+        String phone,
+
+        @Schema(description = "Ciudad de la dirección principal activa", example = "Santo Domingo")
+        String primaryCity,
+
+        @Schema(description = "Estado activo del cliente", example = "true")
+        Boolean active
+) {
+}
@@ -0,0 +1,237 @@
+package com.oriontek.customermanagement.dto.response;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Selección de campos de una respuesta (parámetro fields), por ejemplo
+ * {@code fields=id,fullName,addresses.city}.
+ *
+ * Un campo compuesto sin subcampos ({@code addresses}) selecciona todos sus campos.
+ * Cada DTO declara los campos que expone con un {@link Schema}, que valida la selección
+ * y arma la respuesta leyendo de la entidad solo lo pedido, de modo que las asociaciones
+ * no solicitadas (direcciones, creador) nunca se inicializan.
+ */
+public final class FieldSelection {
+
+    public static final int MAX_FIELDS = 50;
+
+    private static final int MAX_DEPTH = 2;
+    private static final FieldSelection ALL = new FieldSelection(Map.of());
+
+    /**
+     * Campos seleccionados y la selección de cada uno; vacío significa todos los campos.
+     */
+    private final Map<String, FieldSelection> fields;
+
+    private FieldSelection(Map<String, FieldSelection> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Interpreta el valor del parámetro fields.
+     * @param spec Lista de campos separados por coma, con subcampos separados por punto
+     * @return Selección de campos
+     * @throws IllegalArgumentException Si la lista está vacía, es demasiado larga o mal formada
+     */
+    public static FieldSelection parse(String spec) {
+        if (spec == null || spec.isBlank()) {
+            throw new IllegalArgumentException("Debe indicar al menos un campo en fields");
+        }
+
+        String[] paths = spec.split(",");
+        if (paths.length > MAX_FIELDS) {
+            throw new IllegalArgumentException("fields admite como máximo " + MAX_FIELDS + " campos");
+        }
+
+        Node root = new Node();
+        for (String path : paths) {
+            String trimmed = path.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+
+            String[] segments = trimmed.split("\\.", -1);
+            if (segments.length > MAX_DEPTH) {
+                throw new IllegalArgumentException("Campo con demasiados niveles: " + trimmed);
+            }
+
+            Node node = root;
+            for (String segment : segments) {
+                if (segment.isBlank()) {
+                    throw new IllegalArgumentException("Campo mal formado: " + trimmed);
+                }
+                node = node.children.computeIfAbsent(segment.trim(), name -> new Node());
+            }
+            node.whole = true;
+        }
+
+        if (root.children.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos un campo en fields");
+        }
+        return root.toSelection();
+    }
+
+    /**
+     * Selección que incluye todos los campos.
+     * @return Selección completa
+     */
+    public static FieldSelection all() {
+        return ALL;
+    }
+
+    /**
+     * Verifica si la selección incluye todos los campos.
+     * @return true si no se restringió ningún campo
+     */
+    public boolean isAll() {
+        return fields.isEmpty();
+    }
+
+    /**
+     * Verifica si un campo está seleccionado.
+     * @param field Nombre del campo
+     * @return true si el campo (o alguno de sus subcampos) fue pedido
+     */
+    public boolean includes(String field) {
+        return isAll() || fields.containsKey(field);
+    }
+
+    /**
+     * Selección de los subcampos de un campo compuesto.
+     * @param field Nombre del campo
+     * @return Selección de subcampos; todos si se pidió el campo sin subcampos
+     */
+    public FieldSelection nested(String field) {
+        return fields.getOrDefault(field, ALL);
+    }
+
+    /**
+     * Nombres de los campos seleccionados en este nivel.
+     * @return Nombres seleccionados (vacío si se seleccionaron todos)
+     */
+    public Set<String> names() {
+        return Collections.unmodifiableSet(fields.keySet());
+    }
+
+    /**
+     * Nodo mutable usado solo durante el parseo.
+     */
+    private static final class Node {
+        private final Map<String, Node> children = new LinkedHashMap<>();
+        private boolean whole;
+
+        private FieldSelection toSelection() {
+            if (whole || children.isEmpty()) {
+                return ALL;
+            }
+            Map<String, FieldSelection> selection = new LinkedHashMap<>();
+            children.forEach((name, child) -> selection.put(name, child.toSelection()));
+            return new FieldSelection(Collections.unmodifiableMap(selection));
+        }
+    }
+
+    /**
+     * Campos que expone un tipo de respuesta, en el orden en que se serializan.
+     * @param <T> Tipo de entidad de origen
+     */
+    public static final class Schema<T> {
+
+        private final Map<String, Field<T>> fields = new LinkedHashMap<>();
+
+        /**
+         * Declara un campo simple.
+         * @param name Nombre del campo en la respuesta
+         * @param getter Lectura del valor desde la entidad
+         * @return Este esquema
+         */
+        public Schema<T> field(String name, Function<T, ?> getter) {
+            fields.put(name, new Field<>(getter, null, false));
+            return this;
+        }
+
+        /**
+         * Declara un campo compuesto por un único objeto (puede ser null).
+         * @param name Nombre del campo en la respuesta
+         * @param schema Esquema del objeto anidado
+         * @param getter Lectura del objeto desde la entidad
+         * @return Este esquema
+         */
+        public <N> Schema<T> object(String name, Schema<N> schema, Function<T, N> getter) {
+            fields.put(name, new Field<>(getter, schema, false));
+            return this;
+        }
+
+        /**
+         * Declara un campo compuesto por una colección de objetos.
+         * @param name Nombre del campo en la respuesta
+         * @param schema Esquema de cada elemento
+         * @param getter Lectura de la colección desde la entidad
+         * @return Este esquema
+         */
+        public <N> Schema<T> list(String name, Schema<N> schema, Function<T, ? extends Collection<N>> getter) {
+            fields.put(name, new Field<>(getter, schema, true));
+            return this;
+        }
+
+        /**
+         * Valida que todos los campos de la selección existan en este esquema.
+         * @param selection Selección a validar
+         * @throws IllegalArgumentException Si hay campos desconocidos o subcampos sobre campos simples
+         */
+        public void validate(FieldSelection selection) {
+            selection.fields.forEach((name, nested) -> {
+                Field<T> field = fields.get(name);
+                if (field == null) {
+                    throw new IllegalArgumentException("Campo desconocido: " + name);
+                }
+                if (field.schema() == null && !nested.isAll()) {
+                    throw new IllegalArgumentException("El campo " + name + " no tiene subcampos");
+                }
+                if (field.schema() != null) {
+                    field.schema().validate(nested);
+                }
+            });
+        }
+
+        /**
+         * Arma la respuesta con los campos seleccionados.
+         * Solo se invocan los getters de los campos pedidos.
+         *
+         * @param source Entidad de origen
+         * @param selection Selección ya validada
+         * @return Mapa campo → valor en el orden del esquema
+         */
+        public Map<String, Object> render(T source, FieldSelection selection) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            fields.forEach((name, field) -> {
+                if (selection.includes(name)) {
+                    result.put(name, field.render(source, selection.nested(name)));
+                }
+            });
+            return result;
+        }
+
+        private record Field<T>(Function<T, ?> getter, Schema<?> schema, boolean collection) {
+
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            private Object render(T source, FieldSelection selection) {
+                Object value = getter.apply(source);
+                if (schema == null || value == null) {
+                    return value;
+                }
+                Schema raw = schema;
+                if (collection) {
+                    return ((Collection<?>) value).stream()
+                            .map(element -> raw.render(element, selection))
+                            .toList();
+                }
+                return raw.render(value, selection);
+            }
+        }
+    }
+}
@@ -18,6 +18,9 @@ public record LoginResponse(
         @Schema(description = "Tipo de token", example = "Bearer")
         String type,
 
+        @Schema(description = "Refresh token para renovar el token de acceso sin volver a hacer login", example = "k3J9c2V...")
+        String refreshToken,
+
         @Schema(description = "Información del usuario autenticado")
         UserInfo user
 ) {
@@ -29,7 +32,18 @@ public record LoginResponse(
      * @return LoginResponse configurado
      */
     public static LoginResponse of(String token, UserInfo userInfo) {
-        return new LoginResponse(token, "Bearer", userInfo);
+        return new LoginResponse(token, "Bearer", null, userInfo);
+    }
+
+    /**
+     * Método factory para crear la respuesta de login con refresh token.
+     * @param token Token JWT generado
+     * @param refreshToken Refresh token emitido
+     * @param userInfo Información del usuario
+     * @return LoginResponse configurado
+     */
+    public static LoginResponse of(String token, String refreshToken, UserInfo userInfo) {
+        return new LoginResponse(token, "Bearer", refreshToken, userInfo);
     }
 
     /**
@@ -0,0 +1,46 @@
+package com.oriontek.customermanagement.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Resultado de validar un token dentro de un lote.
+ * El índice corresponde a la posición del token en la solicitud; el token no se devuelve.
+ */
+@Schema(description = "Resultado de validación de un token del lote")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TokenValidationResult(
+
+        @Schema(description = "Posición del token en la solicitud", example = "0")
+        int index,
+
+        @Schema(description = "Indica si el token es válido", example = "true")
+        boolean valid,
+
+        @Schema(description = "Información del usuario (solo si el token es válido)")
+        LoginResponse.UserInfo user,
+
+        @Schema(description = "Código de error (solo si el token no es válido)", example = "AUTH_TOKEN_INVALID")
+        String errorCode
+) {
+
+    /**
+     * Crea un resultado válido.
+     * @param index Posición del token
+     * @param user Información del usuario
+     * @return Resultado válido
+     */
+    public static TokenValidationResult valid(int index, LoginResponse.UserInfo user) {
+        return new TokenValidationResult(index, true, user, null);
+    }
+
+    /**
+     * Crea un resultado inválido.
+     * @param index Posición del token
+     * @param errorCode Código de error
+     * @return Resultado inválido
+     */
+    public static TokenValidationResult invalid(int index, String errorCode) {
+        return new TokenValidationResult(index, false, null, errorCode);
+    }
+}
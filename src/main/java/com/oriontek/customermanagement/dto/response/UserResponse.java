@@ -41,6 +41,20 @@ public record UserResponse(
         LocalDateTime updatedAt
 ) {
 
+    /**
+     * Campos disponibles para respuestas con selección de campos (fields).
+     */
+    public static final FieldSelection.Schema<User> FIELDS = new FieldSelection.Schema<User>()
+            .field("id", User::getId)
+            .field("email", User::getEmail)
+            .field("firstName", User::getFirstName)
+            .field("lastName", User::getLastName)
+            .field("fullName", User::getFullName)
+            .field("role", User::getRole)
+            .field("active", User::getActive)
+            .field("createdAt", User::getCreatedAt)
+            .field("updatedAt", User::getUpdatedAt);
+
     /**
      * Método factory para crear UserResponse desde una entidad User.
      * @param user Entidad User
@@ -14,7 +14,13 @@ import java.time.LocalDateTime;
  * Cada cliente puede tener múltiples direcciones (casa, trabajo, etc.).
  */
 @Entity
-@Table(name = "addresses")
+@Table(name = "addresses", indexes = {
+        @Index(name = "idx_addresses_country_city", columnList = "country, city"),
+        @Index(name = "idx_addresses_city", columnList = "city"),
+        @Index(name = "idx_addresses_state", columnList = "state"),
+        @Index(name = "idx_addresses_zip_code", columnList = "zip_code"),
+        @Index(name = "idx_addresses_type", columnList = "type")
+})
 @Data
 @Builder
 @NoArgsConstructor
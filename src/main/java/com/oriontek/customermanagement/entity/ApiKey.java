@@ -0,0 +1,62 @@
+package com.oriontek.customermanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad ApiKey para clientes máquina a máquina (integraciones, jobs).
+ *
+ * Cada API key actúa en nombre de un usuario ADMIN (owner). Solo se guarda el
+ * SHA-256 de la key; el valor en claro se muestra una única vez al crearla.
+ */
+@Entity
+@Table(name = "api_keys", indexes = {
+        @Index(name = "idx_api_keys_owner_user_id", columnList = "owner_user_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApiKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    /**
+     * Primeros caracteres de la key, para identificarla en listados sin exponerla.
+     */
+    @Column(nullable = false, length = 12)
+    private String keyPrefix;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String keyHash;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "owner_user_id", nullable = false)
+    @ToString.Exclude
+    private User owner;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean active = true;
+
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -1,10 +1,12 @@
 package com.oriontek.customermanagement.entity;
 
+import com.oriontek.customermanagement.util.SearchText;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -15,7 +17,15 @@ import java.util.List;
  * Cada cliente puede tener múltiples direcciones.
  */
 @Entity
-@Table(name = "customers")
+@Table(name = "customers", indexes = {
+        @Index(name = "idx_customers_owner_active_created", columnList = "created_by_user_id, active, created_at"),
+        @Index(name = "idx_customers_active_created", columnList = "active, created_at"),
+        @Index(name = "idx_customers_updated_at", columnList = "updated_at"),
+        @Index(name = "idx_customers_search_name", columnList = "search_name"),
+        @Index(name = "idx_customers_search_last_name", columnList = "search_last_name"),
+        @Index(name = "idx_customers_search_email", columnList = "search_email"),
+        @Index(name = "idx_customers_search_document", columnList = "search_document")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -52,6 +62,7 @@ public class Customer {
     private String notes;
 
     @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     @Builder.Default
     private List<Address> addresses = new ArrayList<>();
 
@@ -59,6 +70,23 @@ public class Customer {
     @JoinColumn(name = "created_by_user_id")
     private User createdBy;
 
+    /**
+     * Columnas de búsqueda: copias normalizadas (minúsculas, sin acentos) de nombre,
+     * apellido, email y documento. Se mantienen en los callbacks de persistencia y
+     * permiten búsquedas por prefijo con índice, sin LOWER() sobre la columna.
+     */
+    @Column(length = 201)
+    private String searchName;
+
+    @Column(length = 100)
+    private String searchLastName;
+
+    @Column(length = 100)
+    private String searchEmail;
+
+    @Column(length = 20)
+    private String searchDocument;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -70,11 +98,23 @@ public class Customer {
         LocalDateTime now = LocalDateTime.now();
         this.createdAt = now;
         this.updatedAt = now;
+        updateSearchColumns();
     }
 
     @PreUpdate
     protected void onUpdate() {
         this.updatedAt = LocalDateTime.now();
+        updateSearchColumns();
+    }
+
+    /**
+     * Recalcula las columnas de búsqueda a partir de los datos actuales.
+     */
+    public void updateSearchColumns() {
+        this.searchName = SearchText.column(SearchText.fold(getFullName()), 201);
+        this.searchLastName = SearchText.column(SearchText.fold(lastName), 100);
+        this.searchEmail = SearchText.column(SearchText.fold(email), 100);
+        this.searchDocument = SearchText.column(SearchText.alphanumeric(documentNumber), 20);
     }
 
     public String getFullName() {
@@ -1,11 +1,13 @@
 package com.oriontek.customermanagement.entity;
 
 import com.oriontek.customermanagement.enums.Role;
+import com.oriontek.customermanagement.util.SearchText;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,7 +21,13 @@ import java.util.List;
  * Implementa UserDetails para integración con Spring Security.
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_created_at", columnList = "created_at"),
+        @Index(name = "idx_users_search_name", columnList = "search_name"),
+        @Index(name = "idx_users_search_last_name", columnList = "search_last_name"),
+        @Index(name = "idx_users_search_email", columnList = "search_email")
+})
+@BatchSize(size = 100)
 @Data
 @Builder
 @NoArgsConstructor
@@ -50,6 +58,27 @@ public class User implements UserDetails {
     @Builder.Default
     private Boolean active = true;
 
+    /**
+     * Versión de los tokens emitidos para el usuario.
+     * Se incrementa cuando cambian datos sensibles (email, estado) para invalidar tokens anteriores.
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private Long tokenVersion = 0L;
+
+    /**
+     * Columnas de búsqueda: nombre completo, apellido y email normalizados
+     * (minúsculas, sin acentos), mantenidas en los callbacks de persistencia.
+     */
+    @Column(length = 101)
+    private String searchName;
+
+    @Column(length = 50)
+    private String searchLastName;
+
+    @Column(length = 100)
+    private String searchEmail;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -61,11 +90,22 @@ public class User implements UserDetails {
         LocalDateTime now = LocalDateTime.now();
         this.createdAt = now;
         this.updatedAt = now;
+        updateSearchColumns();
     }
 
     @PreUpdate
     protected void onUpdate() {
         this.updatedAt = LocalDateTime.now();
+        updateSearchColumns();
+    }
+
+    /**
+     * Recalcula las columnas de búsqueda a partir de los datos actuales.
+     */
+    public void updateSearchColumns() {
+        this.searchName = SearchText.column(SearchText.fold(getFullName()), 101);
+        this.searchLastName = SearchText.column(SearchText.fold(lastName), 50);
+        this.searchEmail = SearchText.column(SearchText.fold(email), 100);
     }
 
     @Override
@@ -101,4 +141,11 @@ public class User implements UserDetails {
     public String getFullName() {
         return firstName + " " + lastName;
     }
+
+    /**
+     * Incrementa la versión de token, invalidando los tokens emitidos anteriormente.
+     */
+    public void incrementTokenVersion() {
+        this.tokenVersion = (tokenVersion == null ? 0L : tokenVersion) + 1;
+    }
 }
\ No newline at end of file
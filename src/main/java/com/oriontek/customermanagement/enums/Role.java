@@ -1,6 +1,35 @@
 package com.oriontek.customermanagement.enums;
 
+/**
+ * Enum que define los roles de usuario.
+ * Cada rol tiene un código de una letra usado en los claims compactos del JWT.
+ */
 public enum Role {
-    SUPERADMIN,
-    ADMIN
-}
\ No newline at end of file
+    SUPERADMIN("S"),
+    ADMIN("A");
+
+    private final String code;
+
+    Role(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Obtiene el rol a partir de su código compacto.
+     * @param code Código del rol
+     * @return Rol correspondiente
+     * @throws IllegalArgumentException Si el código no existe
+     */
+    public static Role fromCode(String code) {
+        for (Role role : values()) {
+            if (role.code.equals(code)) {
+                return role;
+            }
+        }
+        throw new IllegalArgumentException("Código de rol desconocido: " + code);
+    }
+}
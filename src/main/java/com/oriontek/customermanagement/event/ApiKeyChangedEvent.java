@@ -0,0 +1,9 @@
+package com.oriontek.customermanagement.event;
+
+/**
+ * Evento publicado cuando se crea o revoca una API key.
+ * El índice de API keys en memoria recarga las keys del owner tras el commit.
+ *
+ * @param ownerId ID del usuario owner de la key
+ */
+public record ApiKeyChangedEvent(Long ownerId) {}
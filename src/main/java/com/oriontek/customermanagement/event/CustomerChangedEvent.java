@@ -0,0 +1,16 @@
+package com.oriontek.customermanagement.event;
+
+/**
+ * Evento publicado cuando se crea, activa o desactiva un cliente.
+ * Permite a los índices en memoria (búsqueda, sugerencias) actualizarse
+ * tras el commit sin volver a recorrer la tabla de clientes.
+ *
+ * @param customerId ID del cliente afectado
+ * @param ownerId ID del usuario que creó el cliente
+ * @param active Estado activo actual del cliente
+ */
+public record CustomerChangedEvent(
+        Long customerId,
+        Long ownerId,
+        boolean active
+) {}
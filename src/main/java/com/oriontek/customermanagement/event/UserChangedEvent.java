@@ -0,0 +1,20 @@
+package com.oriontek.customermanagement.event;
+
+/**
+ * Evento publicado cuando se crea o modifica un usuario.
+ * Permite a los componentes en memoria (versiones de token, caches)
+ * refrescar su estado sin consultar la base de datos en cada request.
+ *
+ * @param userId ID del usuario afectado
+ * @param previousEmail Email anterior (igual a email si no cambió)
+ * @param email Email actual
+ * @param active Estado activo actual
+ * @param tokenVersion Versión de token vigente del usuario
+ */
+public record UserChangedEvent(
+        Long userId,
+        String previousEmail,
+        String email,
+        boolean active,
+        long tokenVersion
+) {}
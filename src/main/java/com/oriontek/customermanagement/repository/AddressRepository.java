@@ -4,6 +4,7 @@ import com.oriontek.customermanagement.entity.Address;
 import com.oriontek.customermanagement.entity.Customer;
 import com.oriontek.customermanagement.enums.AddressType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,9 +15,10 @@ import java.util.Optional;
 /**
  * Repository para la entidad Address.
  * Proporciona métodos para realizar operaciones CRUD y consultas personalizadas de direcciones.
+ * Las búsquedas por filtros se hacen con {@link JpaSpecificationExecutor} desde AddressService.
  */
 @Repository
-public interface AddressRepository extends JpaRepository<Address, Long> {
+public interface AddressRepository extends JpaRepository<Address, Long>, JpaSpecificationExecutor<Address> {
 
     /**
      * Busca todas las direcciones de un cliente.
@@ -37,7 +39,9 @@ public interface AddressRepository extends JpaRepository<Address, Long> {
      * Busca direcciones por tipo.
      * @param type Tipo de dirección
      * @return Lista de direcciones del tipo especificado
+     * @deprecated Sin paginación ni filtro por creador; usar AddressService.searchAddresses
      */
+    @Deprecated
     List<Address> findByType(AddressType type);
 
     /**
@@ -102,14 +106,18 @@ public interface AddressRepository extends JpaRepository<Address, Long> {
      * Busca direcciones por ciudad.
      * @param city Ciudad
      * @return Lista de direcciones en la ciudad especificada
+     * @deprecated Sin paginación ni filtro por creador; usar AddressService.searchAddresses
      */
+    @Deprecated
     List<Address> findByCity(String city);
 
     /**
      * Busca direcciones por país.
      * @param country País
      * @return Lista de direcciones en el país especificado
+     * @deprecated Sin paginación ni filtro por creador; usar AddressService.searchAddresses
      */
+    @Deprecated
     List<Address> findByCountry(String country);
 
     /**
@@ -117,7 +125,9 @@ public interface AddressRepository extends JpaRepository<Address, Long> {
      * Busca en calle, ciudad, estado y país.
      * @param searchTerm Término de búsqueda
      * @return Lista de direcciones que coinciden con la búsqueda
+     * @deprecated Sin paginación ni filtro por creador; usar AddressService.searchAddresses
      */
+    @Deprecated
     @Query("SELECT a FROM Address a WHERE " +
             "LOWER(a.street) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(a.city) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
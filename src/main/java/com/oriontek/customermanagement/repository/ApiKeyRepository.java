@@ -0,0 +1,46 @@
+package com.oriontek.customermanagement.repository;
+
+import com.oriontek.customermanagement.entity.ApiKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository para la entidad ApiKey.
+ */
+@Repository
+public interface ApiKeyRepository extends JpaRepository<ApiKey, Long> {
+
+    /**
+     * Busca todas las API keys activas con su owner (carga del índice en memoria).
+     * @return Lista de API keys activas
+     */
+    @Query("SELECT k FROM ApiKey k JOIN FETCH k.owner WHERE k.active = true")
+    List<ApiKey> findAllActiveWithOwner();
+
+    /**
+     * Busca las API keys activas de un owner con el owner cargado.
+     * @param ownerId ID del usuario owner
+     * @return Lista de API keys activas del owner
+     */
+    @Query("SELECT k FROM ApiKey k JOIN FETCH k.owner WHERE k.owner.id = :ownerId AND k.active = true")
+    List<ApiKey> findActiveByOwnerIdWithOwner(@Param("ownerId") Long ownerId);
+
+    /**
+     * Busca todas las API keys con su owner, ordenadas por fecha de creación.
+     * @return Lista de API keys
+     */
+    @Query("SELECT k FROM ApiKey k JOIN FETCH k.owner ORDER BY k.createdAt DESC")
+    List<ApiKey> findAllWithOwner();
+
+    /**
+     * Busca las API keys de un owner.
+     * @param ownerId ID del usuario owner
+     * @return Lista de API keys del owner
+     */
+    @Query("SELECT k FROM ApiKey k JOIN FETCH k.owner WHERE k.owner.id = :ownerId ORDER BY k.createdAt DESC")
+    List<ApiKey> findByOwnerIdWithOwner(@Param("ownerId") Long ownerId);
+}
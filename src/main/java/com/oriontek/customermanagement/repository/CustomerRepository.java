@@ -1,25 +1,53 @@
 package com.oriontek.customermanagement.repository;
 
+import com.oriontek.customermanagement.dto.response.CustomerSummary;
 import com.oriontek.customermanagement.entity.Customer;
 import com.oriontek.customermanagement.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository para la entidad Customer.
  * Proporciona métodos para realizar operaciones CRUD y consultas personalizadas.
+ *
+ * Las consultas de listado cargan el creador en la misma consulta con @EntityGraph;
+ * las direcciones se cargan después en lotes con IN (ver @BatchSize en Customer.addresses),
+ * ya que un fetch join de la colección impediría paginar en la base de datos.
  */
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
+    /**
+     * Proyección CustomerSummary: una fila por cliente con la ciudad de su dirección principal activa.
+     */
+    String SUMMARY_SELECT = "SELECT new com.oriontek.customermanagement.dto.response.CustomerSummary(" +
+            "c.id, CONCAT(c.firstName, ' ', c.lastName), c.email, c.phone, a.city, c.active) " +
+            "FROM Customer c LEFT JOIN c.addresses a ON a.isPrimary = true AND a.active = true ";
+
+    String LIKE_TERM = "(LOWER(c.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(c.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(c.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(c.documentNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%')))";
+
+    String PREFIX_TERM = "(c.searchName LIKE :pattern ESCAPE '!' OR " +
+            "c.searchLastName LIKE :pattern ESCAPE '!' OR " +
+            "c.searchEmail LIKE :pattern ESCAPE '!' OR " +
+            "c.searchDocument LIKE :documentPattern ESCAPE '!')";
+
     /**
      * Busca un cliente por email.
      * @param email Email del cliente
@@ -60,6 +88,7 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
      * @param pageable Información de paginación
      * @return Página de clientes activos
      */
+    @EntityGraph(attributePaths = "createdBy")
     Page<Customer> findByActiveTrue(Pageable pageable);
 
     /**
@@ -84,8 +113,28 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
      * @param pageable Información de paginación
      * @return Página de clientes activos creados por el usuario
      */
+    @EntityGraph(attributePaths = "createdBy")
     Page<Customer> findByCreatedByAndActive(User createdBy, Boolean active, Pageable pageable);
 
+    /**
+     * Busca clientes activos con paginación sin cargar el creador.
+     * Para respuestas con selección de campos (fields) que no piden createdBy.
+     * @param pageable Información de paginación
+     * @return Página de clientes activos
+     */
+    @Query("SELECT c FROM Customer c WHERE c.active = true")
+    Page<Customer> findActiveWithoutCreator(Pageable pageable);
+
+    /**
+     * Busca clientes activos de un creador con paginación sin cargar el creador.
+     * Filtra por la clave foránea, sin join a users.
+     * @param ownerId ID del usuario que creó los clientes
+     * @param pageable Información de paginación
+     * @return Página de clientes activos del creador
+     */
+    @Query("SELECT c FROM Customer c WHERE c.active = true AND c.createdBy.id = :ownerId")
+    Page<Customer> findActiveByOwnerWithoutCreator(@Param("ownerId") Long ownerId, Pageable pageable);
+
     /**
      * Busca clientes creados en un rango de fechas.
      * @param startDate Fecha de inicio
@@ -101,6 +150,7 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
      * @param pageable Información de paginación
      * @return Página de clientes que coinciden con la búsqueda
      */
+    @EntityGraph(attributePaths = "createdBy")
     @Query("SELECT c FROM Customer c WHERE " +
             "LOWER(c.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(c.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
@@ -115,6 +165,7 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
      * @param pageable Información de paginación
      * @return Página de clientes activos que coinciden con la búsqueda
      */
+    @EntityGraph(attributePaths = "createdBy")
     @Query("SELECT c FROM Customer c WHERE c.active = :active AND (" +
             "LOWER(c.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(c.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
@@ -124,6 +175,352 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
                                          @Param("active") Boolean active,
                                          Pageable pageable);
 
+    /**
+     * Búsqueda por prefijo sobre las columnas de búsqueda normalizadas.
+     * Cada condición es un LIKE 'term%' sin funciones sobre la columna, por lo que
+     * MySQL puede resolverla con los índices idx_customers_search_*.
+     * @param pattern Patrón de prefijo normalizado (ver SearchText.prefixPattern)
+     * @param documentPattern Patrón de prefijo del documento sin separadores
+     * @param pageable Información de paginación
+     * @return Página de clientes activos que coinciden
+     */
+    @EntityGraph(attributePaths = "createdBy")
+    @Query("SELECT c FROM Customer c WHERE c.active = true AND (" +
+            "c.searchName LIKE :pattern ESCAPE '!' OR " +
+            "c.searchLastName LIKE :pattern ESCAPE '!' OR " +
+            "c.searchEmail LIKE :pattern ESCAPE '!' OR " +
+            "c.searchDocument LIKE :documentPattern ESCAPE '!')")
+    Page<Customer> searchActiveCustomersByPrefix(@Param("pattern") String pattern,
+                                                 @Param("documentPattern") String documentPattern,
+                                                 Pageable pageable);
+
+    /**
+     * Búsqueda por prefijo sobre las columnas normalizadas, limitada a un usuario creador.
+     * @param pattern Patrón de prefijo normalizado
+     * @param documentPattern Patrón de prefijo del documento sin separadores
+     * @param ownerId ID del usuario que creó los clientes
+     * @param pageable Información de paginación
+     * @return Página de clientes del usuario que coinciden
+     */
+    @EntityGraph(attributePaths = "createdBy")
+    @Query("SELECT c FROM Customer c WHERE c.createdBy.id = :ownerId AND c.active = true AND (" +
+            "c.searchName LIKE :pattern ESCAPE '!' OR " +
+            "c.searchLastName LIKE :pattern ESCAPE '!' OR " +
+            "c.searchEmail LIKE :pattern ESCAPE '!' OR " +
+            "c.searchDocument LIKE :documentPattern ESCAPE '!')")
+    Page<Customer> searchActiveCustomersByOwnerAndPrefix(@Param("pattern") String pattern,
+                                                         @Param("documentPattern") String documentPattern,
+                                                         @Param("ownerId") Long ownerId,
+                                                         Pageable pageable);
+
+    /**
+     * IDs de clientes sin columnas de búsqueda (filas anteriores a su incorporación).
+     * @param afterId Último ID procesado
+     * @param pageable Tamaño del lote
+     * @return Lista de IDs
+     */
+    @Query("SELECT c.id FROM Customer c WHERE c.searchName IS NULL AND c.id > :afterId ORDER BY c.id")
+    List<Long> findIdsWithoutSearchColumnsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Clientes por ID en modo solo lectura: Hibernate no revisa sus cambios ni los guarda.
+     * @param ids IDs de clientes
+     * @return Lista de clientes
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT c FROM Customer c WHERE c.id IN :ids")
+    List<Customer> findReadOnlyByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Actualiza solo las columnas de búsqueda de un cliente.
+     * Al ser un UPDATE directo no ejecuta @PreUpdate, por lo que no modifica updatedAt.
+     * @return Filas actualizadas
+     */
+    @Modifying
+    @Query("UPDATE Customer c SET c.searchName = :searchName, c.searchLastName = :searchLastName, " +
+            "c.searchEmail = :searchEmail, c.searchDocument = :searchDocument WHERE c.id = :id")
+    int updateSearchColumns(@Param("id") Long id,
+                            @Param("searchName") String searchName,
+                            @Param("searchLastName") String searchLastName,
+                            @Param("searchEmail") String searchEmail,
+                            @Param("searchDocument") String searchDocument);
+
+    /**
+     * Query personalizada para buscar clientes activos de un usuario creador por término de búsqueda.
+     * El filtro por creador usa el índice idx_customers_owner_active_created.
+     * @param searchTerm Término de búsqueda
+     * @param ownerId ID del usuario que creó los clientes
+     * @param active Estado activo
+     * @param pageable Información de paginación
+     * @return Página de clientes del usuario que coinciden con la búsqueda
+     */
+    @EntityGraph(attributePaths = "createdBy")
+    @Query("SELECT c FROM Customer c WHERE c.createdBy.id = :ownerId AND c.active = :active AND (" +
+            "LOWER(c.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(c.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(c.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(c.documentNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
+    Page<Customer> searchActiveCustomersByOwner(@Param("searchTerm") String searchTerm,
+                                                @Param("ownerId") Long ownerId,
+                                                @Param("active") Boolean active,
+                                                Pageable pageable);
+
+    /**
+     * Búsqueda de clientes activos con el índice FULLTEXT ft_customers_search (MySQL).
+     * El término debe venir ya traducido a la sintaxis BOOLEAN MODE
+     * (ver {@link com.oriontek.customermanagement.service.FullTextCustomerSearch}).
+     * @param query Expresión de búsqueda en BOOLEAN MODE
+     * @param active Estado activo
+     * @param pageable Información de paginación (ordenar por nombre de columna)
+     * @return Página de clientes que coinciden con la búsqueda
+     */
+    @Query(value = "SELECT c.* FROM customers c WHERE c.active = :active AND " +
+            "MATCH(c.first_name, c.last_name, c.email, c.document_number) AGAINST (:query IN BOOLEAN MODE)",
+            countQuery = "SELECT COUNT(*) FROM customers c WHERE c.active = :active AND " +
+                    "MATCH(c.first_name, c.last_name, c.email, c.document_number) AGAINST (:query IN BOOLEAN MODE)",
+            nativeQuery = true)
+    Page<Customer> fullTextSearchActiveCustomers(@Param("query") String query,
+                                                 @Param("active") Boolean active,
+                                                 Pageable pageable);
+
+    /**
+     * Búsqueda FULLTEXT de clientes activos de un usuario creador.
+     * @param query Expresión de búsqueda en BOOLEAN MODE
+     * @param ownerId ID del usuario que creó los clientes
+     * @param active Estado activo
+     * @param pageable Información de paginación (ordenar por nombre de columna)
+     * @return Página de clientes del usuario que coinciden con la búsqueda
+     */
+    @Query(value = "SELECT c.* FROM customers c WHERE c.created_by_user_id = :ownerId AND c.active = :active AND " +
+            "MATCH(c.first_name, c.last_name, c.email, c.document_number) AGAINST (:query IN BOOLEAN MODE)",
+            countQuery = "SELECT COUNT(*) FROM customers c WHERE c.created_by_user_id = :ownerId AND c.active = :active AND " +
+                    "MATCH(c.first_name, c.last_name, c.email, c.document_number) AGAINST (:query IN BOOLEAN MODE)",
+            nativeQuery = true)
+    Page<Customer> fullTextSearchActiveCustomersByOwner(@Param("query") String query,
+                                                        @Param("ownerId") Long ownerId,
+                                                        @Param("active") Boolean active,
+                                                        Pageable pageable);
+
+    /**
+     * Clientes activos posteriores a (createdAt, id), en orden ascendente (paginación keyset).
+     * @param createdAt Fecha de creación del último cliente visto
+     * @param id ID del último cliente visto
+     * @param pageable Límite de filas (sin OFFSET ni conteo)
+     * @return Lista de clientes
+     */
+    @EntityGraph(attributePaths = "createdBy")
+    @Query("SELECT c FROM Customer c WHERE c.active = true AND " +
+            "(c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+            "ORDER BY c.createdAt ASC, c.id ASC")
+    List<Customer> findActiveAfter(@Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") Long id,
+                                   Pageable pageable);
+
+    /**
+     * Clientes activos anteriores a (createdAt, id), en orden descendente (página anterior).
+     * @param createdAt Fecha de creación del primer cliente visto
+     * @param id ID del primer cliente visto
+     * @param pageable Límite de filas
+     * @return Lista de clientes
+     */
+    @EntityGraph(attributePaths = "createdBy")
+    @Query("SELECT c FROM Customer c WHERE c.active = true AND " +
+            "(c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Customer> findActiveBefore(@Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id,
+                                    Pageable pageable);
+
+    /**
+     * Clientes activos de un usuario creador posteriores a (createdAt, id).
+     * Usa el índice idx_customers_owner_active_created.
+     * @param ownerId ID del usuario que creó los clientes
+     * @param createdAt Fecha de creación del último cliente visto
+     * @param id ID del último cliente visto
+     * @param pageable Límite de filas
+     * @return Lista de clientes
+     */
+    @EntityGraph(attributePaths = "createdBy")
+    @Query("SELECT c FROM Customer c WHERE c.createdBy.id = :ownerId AND c.active = true AND " +
+            "(c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+            "ORDER BY c.createdAt ASC, c.id ASC")
+    List<Customer> findActiveByOwnerAfter(@Param("ownerId") Long ownerId,
+                                          @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+
+    /**
+     * Clientes activos de un usuario creador anteriores a (createdAt, id), en orden descendente.
+     * @param ownerId ID del usuario que creó los clientes
+     * @param createdAt Fecha de creación del primer cliente visto
+     * @param id ID del primer cliente visto
+     * @param pageable Límite de filas
+     * @return Lista de clientes
+     */
+    @EntityGraph(attributePaths = "createdBy")
+    @Query("SELECT c FROM Customer c WHERE c.createdBy.id = :ownerId AND c.active = true AND " +
+            "(c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Customer> findActiveByOwnerBefore(@Param("ownerId") Long ownerId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+
+    /**
+     * Resúmenes de clientes activos (sin cargar entidades).
+     * @param pageable Información de paginación
+     * @return Página de resúmenes
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE c.active = true",
+            countQuery = "SELECT COUNT(c) FROM Customer c WHERE c.active = true")
+    Page<CustomerSummary> findActiveSummaries(Pageable pageable);
+
+    /**
+     * Resúmenes de clientes activos de un usuario creador.
+     * @param ownerId ID del usuario que creó los clientes
+     * @param pageable Información de paginación
+     * @return Página de resúmenes
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE c.createdBy.id = :ownerId AND c.active = true",
+            countQuery = "SELECT COUNT(c) FROM Customer c WHERE c.createdBy.id = :ownerId AND c.active = true")
+    Page<CustomerSummary> findActiveSummariesByOwner(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    /**
+     * Resúmenes de clientes activos que contienen el término (misma condición que searchActiveCustomers).
+     * @param searchTerm Término de búsqueda
+     * @param pageable Información de paginación
+     * @return Página de resúmenes
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE c.active = true AND " + LIKE_TERM,
+            countQuery = "SELECT COUNT(c) FROM Customer c WHERE c.active = true AND " + LIKE_TERM)
+    Page<CustomerSummary> searchActiveSummaries(@Param("searchTerm") String searchTerm, Pageable pageable);
+
+    /**
+     * Resúmenes de clientes activos de un usuario creador que contienen el término.
+     * @param searchTerm Término de búsqueda
+     * @param ownerId ID del usuario que creó los clientes
+     * @param pageable Información de paginación
+     * @return Página de resúmenes
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE c.createdBy.id = :ownerId AND c.active = true AND " + LIKE_TERM,
+            countQuery = "SELECT COUNT(c) FROM Customer c WHERE c.createdBy.id = :ownerId AND c.active = true AND " + LIKE_TERM)
+    Page<CustomerSummary> searchActiveSummariesByOwner(@Param("searchTerm") String searchTerm,
+                                                       @Param("ownerId") Long ownerId,
+                                                       Pageable pageable);
+
+    /**
+     * Resúmenes de clientes activos por prefijo sobre las columnas normalizadas.
+     * @param pattern Patrón de prefijo normalizado
+     * @param documentPattern Patrón de prefijo del documento sin separadores
+     * @param pageable Información de paginación
+     * @return Página de resúmenes
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE c.active = true AND " + PREFIX_TERM,
+            countQuery = "SELECT COUNT(c) FROM Customer c WHERE c.active = true AND " + PREFIX_TERM)
+    Page<CustomerSummary> searchActiveSummariesByPrefix(@Param("pattern") String pattern,
+                                                        @Param("documentPattern") String documentPattern,
+                                                        Pageable pageable);
+
+    /**
+     * Resúmenes de clientes activos de un usuario creador por prefijo.
+     * @param pattern Patrón de prefijo normalizado
+     * @param documentPattern Patrón de prefijo del documento sin separadores
+     * @param ownerId ID del usuario que creó los clientes
+     * @param pageable Información de paginación
+     * @return Página de resúmenes
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE c.createdBy.id = :ownerId AND c.active = true AND " + PREFIX_TERM,
+            countQuery = "SELECT COUNT(c) FROM Customer c WHERE c.createdBy.id = :ownerId AND c.active = true AND " + PREFIX_TERM)
+    Page<CustomerSummary> searchActiveSummariesByOwnerAndPrefix(@Param("pattern") String pattern,
+                                                                @Param("documentPattern") String documentPattern,
+                                                                @Param("ownerId") Long ownerId,
+                                                                Pageable pageable);
+
+    /**
+     * Resúmenes de clientes por ID (el orden lo restablece quien llama).
+     * @param ids IDs de los clientes
+     * @return Lista de resúmenes
+     */
+    @Query(SUMMARY_SELECT + "WHERE c.id IN :ids")
+    List<CustomerSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * IDs de clientes activos que coinciden con la búsqueda FULLTEXT (para resúmenes).
+     * @param query Expresión de búsqueda en BOOLEAN MODE
+     * @param pageable Información de paginación (ordenar por nombre de columna)
+     * @return Página de IDs
+     */
+    @Query(value = "SELECT c.id FROM customers c WHERE c.active = true AND " +
+            "MATCH(c.first_name, c.last_name, c.email, c.document_number) AGAINST (:query IN BOOLEAN MODE)",
+            countQuery = "SELECT COUNT(*) FROM customers c WHERE c.active = true AND " +
+                    "MATCH(c.first_name, c.last_name, c.email, c.document_number) AGAINST (:query IN BOOLEAN MODE)",
+            nativeQuery = true)
+    Page<Long> fullTextSearchActiveCustomerIds(@Param("query") String query, Pageable pageable);
+
+    /**
+     * IDs de clientes activos de un usuario creador que coinciden con la búsqueda FULLTEXT.
+     * @param query Expresión de búsqueda en BOOLEAN MODE
+     * @param ownerId ID del usuario que creó los clientes
+     * @param pageable Información de paginación (ordenar por nombre de columna)
+     * @return Página de IDs
+     */
+    @Query(value = "SELECT c.id FROM customers c WHERE c.created_by_user_id = :ownerId AND c.active = true AND " +
+            "MATCH(c.first_name, c.last_name, c.email, c.document_number) AGAINST (:query IN BOOLEAN MODE)",
+            countQuery = "SELECT COUNT(*) FROM customers c WHERE c.created_by_user_id = :ownerId AND c.active = true AND " +
+                    "MATCH(c.first_name, c.last_name, c.email, c.document_number) AGAINST (:query IN BOOLEAN MODE)",
+            nativeQuery = true)
+    Page<Long> fullTextSearchActiveCustomerIdsByOwner(@Param("query") String query,
+                                                      @Param("ownerId") Long ownerId,
+                                                      Pageable pageable);
+
+    /**
+     * Obtiene los IDs de clientes activos posteriores a un ID, en orden (recorrido por lotes).
+     * @param afterId Último ID procesado
+     * @param pageable Tamaño del lote
+     * @return Lista de IDs
+     */
+    @Query("SELECT c.id FROM Customer c WHERE c.active = true AND c.id > :afterId ORDER BY c.id")
+    List<Long> findActiveIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Obtiene los IDs de clientes modificados (incluidas activaciones y desactivaciones) desde un instante.
+     * Usado para sincronizar las estructuras en memoria con los cambios hechos en otros nodos.
+     * @param since Instante desde el que buscar cambios
+     * @return Lista de IDs
+     */
+    @Query("SELECT c.id FROM Customer c WHERE c.updatedAt > :since ORDER BY c.id")
+    List<Long> findIdsUpdatedAfter(@Param("since") LocalDateTime since);
+
+    /**
+     * Busca clientes por ID cargando sus direcciones y su creador en la misma consulta.
+     * @param ids IDs de los clientes
+     * @return Lista de clientes con sus direcciones
+     */
+    @Query("SELECT DISTINCT c FROM Customer c LEFT JOIN FETCH c.addresses LEFT JOIN FETCH c.createdBy WHERE c.id IN :ids")
+    List<Customer> findWithAddressesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Busca clientes activos por ID cargando sus direcciones y su creador en la misma consulta.
+     * Los IDs inactivos se descartan aunque el índice en memoria aún los tenga.
+     * @param ids IDs de los clientes
+     * @return Lista de clientes activos con sus direcciones
+     */
+    @Query("SELECT DISTINCT c FROM Customer c LEFT JOIN FETCH c.addresses LEFT JOIN FETCH c.createdBy " +
+           "WHERE c.id IN :ids AND c.active = true")
+    List<Customer> findActiveWithAddressesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Busca clientes activos de un usuario por ID cargando sus direcciones y su creador en la misma consulta.
+     * Los IDs inactivos o de otro usuario se descartan aunque el índice en memoria aún los tenga.
+     * @param ownerId ID del usuario que creó los clientes
+     * @param ids IDs de los clientes
+     * @return Lista de clientes activos del usuario con sus direcciones
+     */
+    @Query("SELECT DISTINCT c FROM Customer c LEFT JOIN FETCH c.addresses LEFT JOIN FETCH c.createdBy " +
+           "WHERE c.id IN :ids AND c.active = true AND c.createdBy.id = :ownerId")
+    List<Customer> findActiveByOwnerWithAddressesByIdIn(@Param("ownerId") Long ownerId,
+                                                        @Param("ids") Collection<Long> ids);
+
     /**
      * Cuenta clientes por usuario que los creó.
      * @param createdBy Usuario que creó los clientes
@@ -0,0 +1,54 @@
+package com.oriontek.customermanagement.repository;
+
+import com.oriontek.customermanagement.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository para la entidad RefreshToken.
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Busca un refresh token por su hash, cargando el usuario en la misma consulta.
+     * @param tokenHash SHA-256 del token
+     * @return Optional con el refresh token si existe
+     */
+    @Query("SELECT r FROM RefreshToken r JOIN FETCH r.user WHERE r.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Marca un refresh token como usado solo si aún no lo estaba.
+     * Evita que dos rotaciones concurrentes del mismo token tengan éxito.
+     * @param id ID del refresh token
+     * @return 1 si se marcó, 0 si ya estaba revocado
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.id = :id AND r.revoked = false")
+    int revokeIfActive(@Param("id") Long id);
+
+    /**
+     * Revoca todos los refresh tokens de una familia.
+     * @param familyId ID de la familia
+     * @return Número de registros actualizados
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.familyId = :familyId AND r.revoked = false")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    /**
+     * Elimina los refresh tokens que ya expiraron.
+     * @param now Fecha actual
+     * @return Número de registros eliminados
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
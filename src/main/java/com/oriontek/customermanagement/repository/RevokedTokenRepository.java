@@ -0,0 +1,48 @@
+package com.oriontek.customermanagement.repository;
+
+import com.oriontek.customermanagement.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository para la entidad RevokedToken.
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    /**
+     * Verifica si un token ya fue revocado.
+     * @param jti Identificador del token
+     * @return true si existe
+     */
+    boolean existsByJti(String jti);
+
+    /**
+     * Busca los tokens revocados que aún no han expirado (carga inicial).
+     * @param now Fecha actual
+     * @return Lista de tokens revocados vigentes
+     */
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    /**
+     * Busca los tokens revocados después de una fecha (sincronización entre nodos).
+     * @param since Fecha desde la cual buscar
+     * @return Lista de tokens revocados ordenados por fecha de revocación
+     */
+    List<RevokedToken> findByRevokedAtAfterOrderByRevokedAtAsc(LocalDateTime since);
+
+    /**
+     * Elimina los tokens revocados que ya expiraron.
+     * @param now Fecha actual
+     * @return Número de registros eliminados
+     */
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -2,10 +2,18 @@ package com.oriontek.customermanagement.repository;
 
 import com.oriontek.customermanagement.entity.User;
 import com.oriontek.customermanagement.enums.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +39,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByEmailAndActive(String email, Boolean active);
 
+    /**
+     * Busca varios usuarios por email con un único IN (usado para validar tokens en lote).
+     * @param emails Emails de los usuarios
+     * @param active Estado activo
+     * @return Lista de usuarios encontrados
+     */
+    List<User> findByEmailInAndActive(Collection<String> emails, Boolean active);
+
     /**
      * Verifica si existe un usuario con el email dado.
      * @param email Email a verificar
@@ -66,14 +82,82 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     long countByRole(Role role);
 
+    /**
+     * Usuarios posteriores a (createdAt, id), en orden ascendente (paginación keyset).
+     * @param createdAt Fecha de creación del último usuario visto
+     * @param id ID del último usuario visto
+     * @param pageable Límite de filas
+     * @return Lista de usuarios
+     */
+    @Query("SELECT u FROM User u WHERE u.createdAt > :createdAt OR (u.createdAt = :createdAt AND u.id > :id) " +
+            "ORDER BY u.createdAt ASC, u.id ASC")
+    List<User> findAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Usuarios anteriores a (createdAt, id), en orden descendente (página anterior).
+     * @param createdAt Fecha de creación del primer usuario visto
+     * @param id ID del primer usuario visto
+     * @param pageable Límite de filas
+     * @return Lista de usuarios
+     */
+    @Query("SELECT u FROM User u WHERE u.createdAt < :createdAt OR (u.createdAt = :createdAt AND u.id < :id) " +
+            "ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
     /**
      * Query personalizada para buscar usuarios por nombre o apellido.
      * @param searchTerm Término de búsqueda
      * @return Lista de usuarios que coinciden
+     * @deprecated LOWER() sobre la columna impide usar índices; usar {@link #searchByPrefix(String)}
      */
+    @Deprecated
     @Query("SELECT u FROM User u WHERE " +
             "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     List<User> findByNameOrEmailContaining(String searchTerm);
+
+    /**
+     * Busca usuarios por prefijo de nombre, apellido o email sobre las columnas normalizadas.
+     * Sin LOWER() sobre la columna, de modo que puede usar los índices idx_users_search_*.
+     * @param pattern Patrón de prefijo normalizado (ver SearchText.prefixPattern)
+     * @return Lista de usuarios que coinciden
+     */
+    @Query("SELECT u FROM User u WHERE " +
+            "u.searchName LIKE :pattern ESCAPE '!' OR " +
+            "u.searchLastName LIKE :pattern ESCAPE '!' OR " +
+            "u.searchEmail LIKE :pattern ESCAPE '!' " +
+            "ORDER BY u.searchName")
+    List<User> searchByPrefix(@Param("pattern") String pattern);
+
+    /**
+     * IDs de usuarios sin columnas de búsqueda (filas anteriores a su incorporación).
+     * @param afterId Último ID procesado
+     * @param pageable Tamaño del lote
+     * @return Lista de IDs
+     */
+    @Query("SELECT u.id FROM User u WHERE u.searchName IS NULL AND u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsWithoutSearchColumnsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Usuarios por ID en modo solo lectura: Hibernate no revisa sus cambios ni los guarda.
+     * @param ids IDs de usuarios
+     * @return Lista de usuarios
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT u FROM User u WHERE u.id IN :ids")
+    List<User> findReadOnlyByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Actualiza solo las columnas de búsqueda de un usuario.
+     * Al ser un UPDATE directo no ejecuta @PreUpdate, por lo que no modifica updatedAt.
+     * @return Filas actualizadas
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.searchName = :searchName, u.searchLastName = :searchLastName, " +
+            "u.searchEmail = :searchEmail WHERE u.id = :id")
+    int updateSearchColumns(@Param("id") Long id,
+                            @Param("searchName") String searchName,
+                            @Param("searchLastName") String searchLastName,
+                            @Param("searchEmail") String searchEmail);
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.oriontek.customermanagement.security;
+
+import com.oriontek.customermanagement.entity.User;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Filtro de autenticación por API key (header X-API-Key).
+ *
+ * Si la key es válida, el request se autentica como el usuario ADMIN owner de la key.
+ * La verificación usa solo el índice en memoria de {@link ApiKeyRegistry}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private final ApiKeyRegistry apiKeyRegistry;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String apiKey = request.getHeader(API_KEY_HEADER);
+
+        if (apiKey != null && !apiKey.isEmpty() && apiKey.length() <= MAX_KEY_LENGTH
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+
+            User owner = apiKeyRegistry.authenticate(apiKey);
+
+            if (owner != null) {
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        owner,
+                        null,
+                        owner.getAuthorities()
+                );
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+
+                log.debug("Request autenticado con API key del usuario: {}", owner.getEmail());
+            } else {
+                log.debug("API key inválida en request: {} {}", request.getMethod(), request.getRequestURI());
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,192 @@
+package com.oriontek.customermanagement.security;
+
+import com.oriontek.customermanagement.entity.ApiKey;
+import com.oriontek.customermanagement.entity.User;
+import com.oriontek.customermanagement.event.ApiKeyChangedEvent;
+import com.oriontek.customermanagement.event.UserChangedEvent;
+import com.oriontek.customermanagement.repository.ApiKeyRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Índice en memoria de API keys activas, indexado por el SHA-256 de la key.
+ *
+ * Verificar una key cuesta un SHA-256 y una búsqueda en el mapa, sin BCrypt ni base de datos.
+ * El índice se carga al iniciar, se actualiza tras el commit de cada cambio de key o de su
+ * owner, y se recarga completo periódicamente para recoger los cambios hechos en otros nodos.
+ *
+ * El mapa es inmutable y cada cambio publica uno nuevo con un único swap, de modo que un
+ * request nunca ve las keys de un owner a medio recargar. Cada cambio de owner se numera;
+ * la recarga completa conserva la versión en memoria de los owners que cambiaron después
+ * de empezar a leer la tabla, para no reinstalar keys de un owner recién desactivado.
+ */
+@Slf4j
+@Component
+public class ApiKeyRegistry {
+
+    private final ApiKeyRepository apiKeyRepository;
+    private final AtomicReference<Map<String, Entry>> keys = new AtomicReference<>(Map.of());
+    private final AtomicLong changeSequence = new AtomicLong();
+    private final Map<Long, Long> ownerChanges = new ConcurrentHashMap<>();
+    private final Object ownerLock = new Object();
+
+    public ApiKeyRegistry(ApiKeyRepository apiKeyRepository, MeterRegistry meterRegistry) {
+        this.apiKeyRepository = apiKeyRepository;
+
+        Gauge.builder("auth.api-keys.active", keys, current -> current.get().size())
+                .description("API keys activas en el índice en memoria")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Busca el owner de una API key.
+     * @param rawKey API key en claro
+     * @return Usuario owner o null si la key no existe, expiró o su owner no está activo
+     */
+    public User authenticate(String rawKey) {
+        Entry entry = keys.get().get(hash(rawKey));
+
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() != null && entry.expiresAt().isBefore(LocalDateTime.now())) {
+            return null;
+        }
+        return entry.owner();
+    }
+
+    /**
+     * Carga todas las API keys activas al iniciar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadApiKeys() {
+        reloadAll();
+        log.info("Índice de API keys cargado con {} keys", keys.get().size());
+    }
+
+    /**
+     * Recarga el índice completo para sincronizar los cambios hechos en otros nodos.
+     */
+    @Scheduled(fixedDelayString = "${app.security.api-keys.refresh-interval:PT30S}")
+    public void reloadAll() {
+        long readFrom = changeSequence.get();
+        List<ApiKey> activeKeys = apiKeyRepository.findAllActiveWithOwner();
+
+        keys.updateAndGet(current -> {
+            Map<String, Entry> next = new HashMap<>();
+            for (ApiKey apiKey : activeKeys) {
+                if (!changedAfter(apiKey.getOwner().getId(), readFrom)) {
+                    register(next, apiKey);
+                }
+            }
+            current.forEach((hash, entry) -> {
+                if (changedAfter(entry.owner().getId(), readFrom)) {
+                    next.put(hash, entry);
+                }
+            });
+            return Map.copyOf(next);
+        });
+
+        ownerChanges.values().removeIf(sequence -> sequence <= readFrom);
+    }
+
+    /**
+     * Recarga las keys del owner tras crear o revocar una key.
+     * @param event Evento de cambio de API key
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onApiKeyChanged(ApiKeyChangedEvent event) {
+        reloadOwner(event.ownerId(), true);
+    }
+
+    /**
+     * Recarga las keys del owner cuando cambia (desactivación, cambio de email o versión).
+     * @param event Evento de cambio de usuario
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        reloadOwner(event.userId(), event.active());
+    }
+
+    /**
+     * Reemplaza las keys de un owner en un único swap.
+     * Si el owner está inactivo sus keys se retiran sin consultar la base de datos.
+     */
+    private void reloadOwner(Long ownerId, boolean active) {
+        synchronized (ownerLock) {
+            ownerChanges.put(ownerId, changeSequence.incrementAndGet());
+            List<ApiKey> ownerKeys = active ? apiKeyRepository.findActiveByOwnerIdWithOwner(ownerId) : List.of();
+
+            keys.updateAndGet(current -> {
+                Map<String, Entry> next = new HashMap<>();
+                current.forEach((hash, entry) -> {
+                    if (!entry.owner().getId().equals(ownerId)) {
+                        next.put(hash, entry);
+                    }
+                });
+                ownerKeys.forEach(apiKey -> register(next, apiKey));
+                return Map.copyOf(next);
+            });
+            log.debug("API keys del usuario {} recargadas: {}", ownerId, ownerKeys.size());
+        }
+    }
+
+    private boolean changedAfter(Long ownerId, long sequence) {
+        Long changed = ownerChanges.get(ownerId);
+        return changed != null && changed > sequence;
+    }
+
+    private static void register(Map<String, Entry> target, ApiKey apiKey) {
+        User owner = apiKey.getOwner();
+        if (!Boolean.TRUE.equals(owner.getActive())) {
+            return;
+        }
+        target.put(apiKey.getKeyHash(), new Entry(owner, apiKey.getExpiresAt()));
+    }
+
+    /**
+     * Calcula el SHA-256 de una API key.
+     * @param rawKey API key en claro
+     * @return Digest de la key
+     */
+    private static byte[] digest(String rawKey) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(rawKey.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Calcula el SHA-256 de una API key en hexadecimal (valor guardado en la tabla).
+     * @param rawKey API key en claro
+     * @return Digest de la key en hexadecimal
+     */
+    public static String hash(String rawKey) {
+        return HexFormat.of().formatHex(digest(rawKey));
+    }
+
+    /**
+     * Entrada del índice: owner y expiración de la key.
+     */
+    private record Entry(User owner, LocalDateTime expiresAt) {}
+}
@@ -0,0 +1,60 @@
+package com.oriontek.customermanagement.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Calibra el costo de BCrypt contra un tiempo objetivo en el host actual.
+ *
+ * Cada incremento de costo duplica el tiempo de hash, por lo que basta con medir
+ * el costo mínimo y estimar el costo que más se acerca al objetivo sin superarlo.
+ */
+@Slf4j
+public final class BCryptCostCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+    private static final int WARM_UP_ROUNDS = 2;
+
+    private BCryptCostCalibrator() {
+    }
+
+    /**
+     * Calcula el costo de BCrypt cuyo hash dura aproximadamente el tiempo objetivo.
+     *
+     * @param target Tiempo objetivo por verificación
+     * @param minCost Costo mínimo permitido
+     * @param maxCost Costo máximo permitido
+     * @return Costo calibrado dentro de [minCost, maxCost]
+     */
+    public static int calibrate(Duration target, int minCost, int maxCost) {
+        long baseNanos = measure(minCost);
+        long targetNanos = target.toNanos();
+
+        int cost = minCost;
+        long estimatedNanos = baseNanos;
+        while (cost < maxCost && estimatedNanos * 2 <= targetNanos) {
+            cost++;
+            estimatedNanos *= 2;
+        }
+
+        log.info("Costo BCrypt calibrado: {} (costo {} = {} ms, objetivo {} ms, estimado {} ms)",
+                cost, minCost, baseNanos / 1_000_000, target.toMillis(), estimatedNanos / 1_000_000);
+        return cost;
+    }
+
+    /**
+     * Mide el tiempo de un hash con el costo dado, después de calentar la JIT.
+     */
+    private static long measure(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            encoder.encode(SAMPLE_PASSWORD);
+        }
+
+        long start = System.nanoTime();
+        encoder.encode(SAMPLE_PASSWORD);
+        return System.nanoTime() - start;
+    }
+}
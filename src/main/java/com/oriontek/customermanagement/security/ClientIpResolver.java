@@ -0,0 +1,60 @@
+package com.oriontek.customermanagement.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Determina la IP del cliente de un request.
+ *
+ * Por defecto usa la dirección de la conexión (getRemoteAddr), ya que las cabeceras
+ * X-Forwarded-For y X-Real-IP las puede fijar el propio cliente. Solo si la conexión viene
+ * de un proxy listado en app.security.trusted-proxies se lee X-Forwarded-For, recorriéndolo
+ * de derecha a izquierda hasta la primera dirección que no sea un proxy de confianza.
+ */
+@Component
+public class ClientIpResolver {
+
+    private final Set<String> trustedProxies;
+
+    public ClientIpResolver(@Value("${app.security.trusted-proxies:}") String trustedProxies) {
+        this.trustedProxies = Arrays.stream(trustedProxies.split(","))
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Obtiene la IP del cliente.
+     * @param request Request HTTP
+     * @return IP del cliente
+     */
+    public String resolve(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (!trustedProxies.contains(remoteAddr)) {
+            return remoteAddr;
+        }
+
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isBlank()) {
+            String[] hops = xForwardedFor.split(",");
+            for (int i = hops.length - 1; i >= 0; i--) {
+                String hop = hops[i].trim();
+                if (!hop.isEmpty() && !"unknown".equalsIgnoreCase(hop) && !trustedProxies.contains(hop)) {
+                    return hop;
+                }
+            }
+        }
+
+        String xRealIp = request.getHeader("X-Real-IP");
+        if (xRealIp != null && !xRealIp.isBlank() && !"unknown".equalsIgnoreCase(xRealIp)) {
+            return xRealIp.trim();
+        }
+
+        return remoteAddr;
+    }
+}
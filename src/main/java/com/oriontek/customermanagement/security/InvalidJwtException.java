@@ -0,0 +1,18 @@
+package com.oriontek.customermanagement.security;
+
+/**
+ * Excepción para tokens JWT rechazados.
+ *
+ * No captura stack trace ni admite supresión: se lanza en cada request con un token
+ * inválido o expirado, y el stack trace no aporta información sobre el token.
+ */
+public class InvalidJwtException extends RuntimeException {
+
+    public InvalidJwtException(String message) {
+        super(message, null, false, false);
+    }
+
+    public InvalidJwtException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
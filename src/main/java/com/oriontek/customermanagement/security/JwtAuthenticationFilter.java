@@ -1,11 +1,14 @@
 package com.oriontek.customermanagement.security;
 
+import com.oriontek.customermanagement.entity.User;
+import com.oriontek.customermanagement.service.TokenRevocationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -22,9 +25,13 @@ import java.io.IOException;
  *
  * Este filtro:
  * 1. Extrae el token JWT del header Authorization
- * 2. Valida el token
- * 3. Carga los detalles del usuario
+ * 2. Valida el token (una sola verificación de firma, con cache de tokens verificados
+ *    y cache negativo de tokens rechazados) y descarta los tokens revocados por logout
+ * 3. Carga los detalles del usuario (desde la BD, o desde los claims en modo stateless)
  * 4. Establece la autenticación en el SecurityContext
+ *
+ * Con jwt.stateless-principal.enabled=true el principal se construye desde los claims
+ * del token y se valida contra {@link UserVersionRegistry}, sin consultar MySQL.
  */
 @Slf4j
 @Component
@@ -33,6 +40,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final UserVersionRegistry userVersionRegistry;
+    private final TokenRevocationService tokenRevocationService;
+
+    @Value("${jwt.stateless-principal.enabled:false}")
+    private boolean statelessPrincipal;
 
     @Override
     protected void doFilterInternal(
@@ -56,22 +68,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             jwt = jwtService.extractTokenFromHeader(authHeader);
 
-            if (jwt == null || !jwtService.isValidTokenFormat(jwt)) {
-                log.warn("Token JWT con formato inválido");
+            if (jwt == null) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            VerifiedToken verifiedToken = jwtService.verifyToken(jwt);
+
+            if (tokenRevocationService.isRevoked(verifiedToken)) {
+                log.warn("Token JWT revocado para usuario: {}", verifiedToken.subject());
                 filterChain.doFilter(request, response);
                 return;
             }
 
-            userEmail = jwtService.extractUsername(jwt);
+            userEmail = verifiedToken.subject();
             log.debug("Email extraído del token: {}", userEmail);
 
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-                log.debug("Usuario cargado desde BD: {}, activo: {}",
-                        userDetails.getUsername(), userDetails.isEnabled());
+                UserDetails userDetails = loadUserDetails(verifiedToken, userEmail);
+                if (userDetails == null) {
+                    log.warn("Token JWT revocado por cambio de versión para usuario: {}", userEmail);
+                    filterChain.doFilter(request, response);
+                    return;
+                }
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (jwtService.isTokenValid(verifiedToken, userDetails)) {
 
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
@@ -91,6 +113,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 }
             }
 
+        } catch (InvalidJwtException e) {
+            log.debug("Token JWT rechazado: {}", e.getMessage());
         } catch (Exception e) {
             log.error("Error al procesar token JWT: {}", e.getMessage());
         }
@@ -98,6 +122,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Obtiene el principal del request.
+     * En modo stateless se construye desde los claims y se valida la versión en memoria;
+     * si el token no trae los claims necesarios se consulta la base de datos.
+     *
+     * @param verifiedToken Token verificado
+     * @param userEmail Email extraído del token
+     * @return UserDetails del usuario o null si la versión del token ya no es vigente
+     */
+    private UserDetails loadUserDetails(VerifiedToken verifiedToken, String userEmail) {
+        if (statelessPrincipal) {
+            User principal = jwtService.buildPrincipal(verifiedToken);
+            if (principal != null) {
+                if (!userVersionRegistry.isCurrent(principal.getId(), principal.getTokenVersion())) {
+                    return null;
+                }
+                log.debug("Usuario construido desde claims del token: {}", userEmail);
+                return principal;
+            }
+        }
+
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+        log.debug("Usuario cargado desde BD: {}, activo: {}",
+                userDetails.getUsername(), userDetails.isEnabled());
+        return userDetails;
+    }
+
     /**
      * Determina si este filtro debe ejecutarse para la request actual.
      * Podemos saltarnos el filtro para ciertas rutas como /swagger-ui, /api-docs, etc.
@@ -110,7 +161,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 path.startsWith("/v3/api-docs") ||
                 path.startsWith("/api-docs") ||
                 path.equals("/favicon.ico") ||
-                path.startsWith("/actuator") ||
+                path.equals("/actuator/health") ||
                 path.startsWith("/h2-console");
     }
 }
\ No newline at end of file
@@ -1,32 +1,179 @@
 package com.oriontek.customermanagement.security;
 
+import com.oriontek.customermanagement.entity.User;
+import com.oriontek.customermanagement.enums.Role;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
 /**
  * Servicio para manejo de tokens JWT.
  * Responsable de generar, validar y extraer información de los tokens.
+ *
+ * Los tokens usan un esquema de claims compacto: uid (id numérico), rl (código de rol)
+ * y ver (versión de token). La firma es HMAC con jwt.secret por defecto, o EdDSA (Ed25519)
+ * con jwt.algorithm=EdDSA.
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "rl";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
+    private static final String ALGORITHM_EDDSA = "EdDSA";
+    private static final SecureRandom TOKEN_ID_RANDOM = new SecureRandom();
+    private static final int MAX_TOKEN_LENGTH = 4096;
+
+    private final LogThrottle rejectionLog = new LogThrottle(Duration.ofSeconds(10));
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private Long jwtExpiration;
 
+    @Value("${jwt.algorithm:HS256}")
+    private String jwtAlgorithm;
+
+    @Value("${jwt.eddsa.private-key:}")
+    private String eddsaPrivateKey;
+
+    @Value("${jwt.eddsa.public-key:}")
+    private String eddsaPublicKey;
+
+    private java.security.Key signInKey;
+    private JwtParser jwtParser;
+
+    /**
+     * Decodifica las claves y construye el parser una sola vez al iniciar.
+     * Ambos objetos son inmutables y seguros para uso concurrente.
+     */
+    @PostConstruct
+    void init() {
+        if (ALGORITHM_EDDSA.equalsIgnoreCase(jwtAlgorithm)) {
+            KeyPair keyPair = loadEdDsaKeyPair();
+            this.signInKey = keyPair.getPrivate();
+            this.jwtParser = Jwts.parser()
+                    .verifyWith(keyPair.getPublic())
+                    .build();
+            return;
+        }
+
+        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
+        javax.crypto.SecretKey secretKey = Keys.hmacShaKeyFor(keyBytes);
+        this.signInKey = secretKey;
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+    }
+
+    /**
+     * Carga el par de claves Ed25519 desde la configuración (PKCS#8 / X.509 en Base64).
+     * Si no están configuradas se genera un par efímero, válido solo para un nodo.
+     */
+    private KeyPair loadEdDsaKeyPair() {
+        if (eddsaPrivateKey == null || eddsaPrivateKey.isBlank() ||
+                eddsaPublicKey == null || eddsaPublicKey.isBlank()) {
+            log.warn("jwt.eddsa.private-key/public-key no configuradas, generando par Ed25519 efímero");
+            try {
+                return KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+            } catch (Exception e) {
+                throw new IllegalStateException("No se pudo generar el par Ed25519", e);
+            }
+        }
+
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("Ed25519");
+            PrivateKey privateKey = keyFactory.generatePrivate(
+                    new PKCS8EncodedKeySpec(Decoders.BASE64.decode(eddsaPrivateKey)));
+            PublicKey publicKey = keyFactory.generatePublic(
+                    new X509EncodedKeySpec(Decoders.BASE64.decode(eddsaPublicKey)));
+            return new KeyPair(publicKey, privateKey);
+        } catch (Exception e) {
+            throw new IllegalStateException("Claves EdDSA inválidas: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Verifica el token una sola vez y devuelve subject, expiración y authorities.
+     *
+     * Orden de comprobaciones, de la más barata a la más cara: estructura del token,
+     * cache negativo de tokens rechazados, cache de tokens verificados y, por último,
+     * la verificación de la firma. Los rechazos no capturan stack trace.
+     *
+     * @param token Token JWT
+     * @return Token verificado
+     * @throws InvalidJwtException Si el token es inválido o ha expirado
+     */
+    public VerifiedToken verifyToken(String token) {
+        if (!isValidTokenFormat(token)) {
+            logRejection("formato inválido");
+            throw new InvalidJwtException("Token JWT con formato inválido");
+        }
+
+        String digest = VerifiedTokenCache.digest(token);
+        if (verifiedTokenCache.isRejected(digest)) {
+            throw new InvalidJwtException("Token JWT inválido");
+        }
+
+        VerifiedToken cached = verifiedTokenCache.get(digest);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims;
+        try {
+            claims = extractAllClaims(token);
+        } catch (InvalidJwtException e) {
+            verifiedTokenCache.markRejected(digest);
+            throw e;
+        }
+
+        VerifiedToken verifiedToken = new VerifiedToken(
+                claims.getSubject(),
+                claims.getExpiration(),
+                extractAuthorities(claims),
+                claims
+        );
+
+        verifiedTokenCache.put(digest, verifiedToken);
+        return verifiedToken;
+    }
+
     /**
      * Extrae el username (email) del token JWT.
      * @param token Token JWT
@@ -53,7 +200,7 @@ public class JwtService {
      * @param <T> Tipo del claim
      */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = verifyToken(token).claims();
         return claimsResolver.apply(claims);
     }
 
@@ -64,14 +211,23 @@ public class JwtService {
      */
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSignInKey())
-                    .build()
+            return jwtParser
                     .parseSignedClaims(token)
                     .getPayload();
         } catch (Exception e) {
-            log.error("Error al extraer claims del token: {}", e.getMessage());
-            throw new RuntimeException("Token JWT inválido", e);
+            logRejection(e.getMessage());
+            throw new InvalidJwtException("Token JWT inválido", e);
+        }
+    }
+
+    /**
+     * Registra un token rechazado, como máximo una vez cada 10 segundos.
+     * @param reason Motivo del rechazo
+     */
+    private void logRejection(String reason) {
+        long suppressed = rejectionLog.tryAcquire();
+        if (suppressed >= 0) {
+            log.warn("Token JWT rechazado: {} ({} rechazos anteriores omitidos del log)", reason, suppressed);
         }
     }
 
@@ -82,7 +238,7 @@ public class JwtService {
      */
     public Boolean isTokenExpired(String token) {
         try {
-            return extractExpiration(token).before(new Date());
+            return verifyToken(token).isExpired();
         } catch (Exception e) {
             log.error("Error al verificar expiración del token: {}", e.getMessage());
             return true;
@@ -90,15 +246,22 @@ public class JwtService {
     }
 
     /**
-     * Genera un token JWT para el usuario.
+     * Genera un token JWT para el usuario con el esquema de claims compacto.
      * @param userDetails Detalles del usuario
      * @return Token JWT generado
      */
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> extraClaims = new HashMap<>();
 
-        extraClaims.put("authorities", userDetails.getAuthorities());
-        extraClaims.put("enabled", userDetails.isEnabled());
+        if (userDetails instanceof User user) {
+            extraClaims.put(CLAIM_USER_ID, user.getId());
+            extraClaims.put(CLAIM_ROLE, user.getRole().getCode());
+            extraClaims.put(CLAIM_TOKEN_VERSION, user.getTokenVersion());
+        } else {
+            extraClaims.put("authorities", userDetails.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .toList());
+        }
 
         return generateToken(extraClaims, userDetails);
     }
@@ -129,13 +292,16 @@ public class JwtService {
             Date now = new Date(System.currentTimeMillis());
             Date expirationDate = new Date(System.currentTimeMillis() + expiration);
 
-            String token = Jwts.builder()
+            JwtBuilder builder = Jwts.builder()
                     .claims(extraClaims)
+                    .id(newTokenId())
                     .subject(userDetails.getUsername())
                     .issuedAt(now)
-                    .expiration(expirationDate)
-                    .signWith(getSignInKey())
-                    .compact();
+                    .expiration(expirationDate);
+
+            String token = signInKey instanceof PrivateKey privateKey
+                    ? builder.signWith(privateKey, Jwts.SIG.EdDSA).compact()
+                    : builder.signWith(signInKey).compact();
 
             log.info("Token JWT generado exitosamente para usuario: {}", userDetails.getUsername());
             return token;
@@ -155,8 +321,7 @@ public class JwtService {
      */
     public Boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+            return isTokenValid(verifyToken(token), userDetails);
         } catch (Exception e) {
             log.error("Error al validar token para usuario {}: {}",
                     userDetails.getUsername(), e.getMessage());
@@ -165,12 +330,83 @@ public class JwtService {
     }
 
     /**
-     * Obtiene la clave de firma para el JWT.
-     * @return Clave de firma
+     * Valida un token ya verificado contra el usuario, sin volver a parsearlo.
+     * @param verifiedToken Token verificado
+     * @param userDetails Detalles del usuario
+     * @return true si el token pertenece al usuario y no ha expirado
      */
-    private javax.crypto.SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public boolean isTokenValid(VerifiedToken verifiedToken, UserDetails userDetails) {
+        return verifiedToken.subject() != null &&
+                verifiedToken.subject().equals(userDetails.getUsername()) &&
+                !verifiedToken.isExpired();
+    }
+
+    /**
+     * Genera un identificador de token de 128 bits en Base64 URL (22 caracteres).
+     */
+    private static String newTokenId() {
+        byte[] bytes = new byte[16];
+        TOKEN_ID_RANDOM.nextBytes(bytes);
+        return Encoders.BASE64URL.encode(bytes);
+    }
+
+    /**
+     * Construye un principal ligero a partir de los claims del token, sin consultar la base de datos.
+     * Solo contiene id, email, rol y versión de token; el resto de campos queda sin cargar.
+     *
+     * @param verifiedToken Token verificado
+     * @return Usuario construido desde los claims o null si el token no los contiene
+     */
+    public User buildPrincipal(VerifiedToken verifiedToken) {
+        Claims claims = verifiedToken.claims();
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        String roleCode = claims.get(CLAIM_ROLE, String.class);
+        Number tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Number.class);
+
+        if (userId == null || roleCode == null || tokenVersion == null) {
+            return null;
+        }
+
+        return User.builder()
+                .id(userId.longValue())
+                .email(verifiedToken.subject())
+                .role(Role.fromCode(roleCode))
+                .active(true)
+                .tokenVersion(tokenVersion.longValue())
+                .build();
+    }
+
+    /**
+     * Obtiene las authorities del token a partir del código de rol.
+     * Para tokens emitidos con el esquema anterior se lee el claim "authorities",
+     * que acepta tanto cadenas como el formato serializado de SimpleGrantedAuthority.
+     * @param claims Claims del token
+     * @return Authorities declaradas en el token
+     */
+    private Collection<? extends GrantedAuthority> extractAuthorities(Claims claims) {
+        String roleCode = claims.get(CLAIM_ROLE, String.class);
+        if (roleCode != null) {
+            try {
+                return List.of(new SimpleGrantedAuthority("ROLE_" + Role.fromCode(roleCode).name()));
+            } catch (IllegalArgumentException e) {
+                return List.of();
+            }
+        }
+
+        Object rawAuthorities = claims.get("authorities");
+        if (!(rawAuthorities instanceof Collection<?> values)) {
+            return List.of();
+        }
+
+        List<GrantedAuthority> authorities = new ArrayList<>(values.size());
+        for (Object value : values) {
+            if (value instanceof Map<?, ?> map && map.get("authority") != null) {
+                authorities.add(new SimpleGrantedAuthority(map.get("authority").toString()));
+            } else if (value != null) {
+                authorities.add(new SimpleGrantedAuthority(value.toString()));
+            }
+        }
+        return List.copyOf(authorities);
     }
 
     /**
@@ -186,17 +422,36 @@ public class JwtService {
     }
 
     /**
-     * Verifica si el token tiene el formato correcto.
+     * Verifica si el token tiene el formato correcto sin hacer ninguna operación criptográfica:
+     * longitud acotada, exactamente tres segmentos no vacíos y solo caracteres Base64 URL.
      * @param token Token a verificar
      * @return true si el formato es válido
      */
     public Boolean isValidTokenFormat(String token) {
-        if (token == null || token.trim().isEmpty()) {
+        if (token == null || token.isEmpty() || token.length() > MAX_TOKEN_LENGTH) {
             return false;
         }
 
-        String[] parts = token.split("\\.");
-        return parts.length == 3;
+        int dots = 0;
+        int segmentLength = 0;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (segmentLength == 0 || ++dots > 2) {
+                    return false;
+                }
+                segmentLength = 0;
+            } else if (isBase64UrlChar(c)) {
+                segmentLength++;
+            } else {
+                return false;
+            }
+        }
+        return dots == 2 && segmentLength > 0;
+    }
+
+    private static boolean isBase64UrlChar(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
     }
 
     /**
@@ -210,12 +465,10 @@ public class JwtService {
                 return "Token con formato inválido";
             }
 
-            String username = extractUsername(token);
-            Date expiration = extractExpiration(token);
-            boolean expired = isTokenExpired(token);
+            VerifiedToken verifiedToken = verifyToken(token);
 
             return String.format("Usuario: %s, Expira: %s, Expirado: %s",
-                    username, expiration, expired);
+                    verifiedToken.subject(), verifiedToken.expiration(), verifiedToken.isExpired());
         } catch (Exception e) {
             return "Token inválido: " + e.getMessage();
         }
@@ -0,0 +1,119 @@
+package com.oriontek.customermanagement.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets sin locks, uno por clave exacta (IP, email...).
+ *
+ * Los buckets viven en un cache acotado por tamaño que los descarta tras un periodo
+ * sin acceso igual al tiempo de recarga completa: un bucket descartado estaría lleno
+ * de todos modos, así que el descarte no cambia el resultado. Dos claves distintas
+ * nunca comparten bucket. El estado de cada bucket cabe en un long (instante del último
+ * cálculo y milésimas de token) y se actualiza con CAS.
+ */
+public class KeyedTokenBucket {
+
+    private static final int TOKEN_BITS = 20;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long MILLI = 1000;
+
+    private final Cache<String, AtomicLong> buckets;
+    private final long capacityMilli;
+    private final double refillMilliPerMs;
+    private final long epochMillis;
+    private final LongSupplier clock;
+
+    /**
+     * @param maxKeys Número máximo de claves con bucket propio
+     * @param capacity Tokens máximos por bucket (máximo 1000)
+     * @param refillTokens Tokens repuestos por periodo
+     * @param refillPeriodMillis Duración del periodo de reposición
+     */
+    public KeyedTokenBucket(long maxKeys, int capacity, int refillTokens, long refillPeriodMillis) {
+        this(maxKeys, capacity, refillTokens, refillPeriodMillis, System::currentTimeMillis);
+    }
+
+    KeyedTokenBucket(long maxKeys, int capacity, int refillTokens, long refillPeriodMillis, LongSupplier clock) {
+        if (capacity < 1 || capacity * MILLI > TOKEN_MASK) {
+            throw new IllegalArgumentException("Capacidad fuera de rango: " + capacity);
+        }
+        if (refillTokens < 1) {
+            throw new IllegalArgumentException("La reposición debe ser al menos 1 token");
+        }
+        this.capacityMilli = capacity * MILLI;
+        this.refillMilliPerMs = (double) refillTokens * MILLI / refillPeriodMillis;
+        this.clock = clock;
+        this.epochMillis = clock.getAsLong() - 1;
+
+        long fullRefillMillis = (long) Math.ceil((double) refillPeriodMillis * capacity / refillTokens);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMillis(fullRefillMillis))
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.getAsLong()))
+                .build();
+    }
+
+    /**
+     * Intenta consumir un token del bucket de la clave.
+     * @param key Clave (IP, email...)
+     * @return true si había token disponible
+     */
+    public boolean tryAcquire(String key) {
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong());
+        long now = clock.getAsLong() - epochMillis;
+
+        while (true) {
+            long current = bucket.get();
+            long tokens = available(current, now);
+            if (tokens < MILLI) {
+                return false;
+            }
+            long updated = (now << TOKEN_BITS) | (tokens - MILLI);
+            if (bucket.compareAndSet(current, updated)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Cuenta los buckets que actualmente no tienen un token completo disponible.
+     * @return Número de buckets agotados
+     */
+    public int exhaustedBuckets() {
+        long now = clock.getAsLong() - epochMillis;
+        int exhausted = 0;
+        for (AtomicLong bucket : buckets.asMap().values()) {
+            long current = bucket.get();
+            if (current != 0 && available(current, now) < MILLI) {
+                exhausted++;
+            }
+        }
+        return exhausted;
+    }
+
+    /**
+     * Número aproximado de claves con bucket en memoria.
+     * @return Tamaño estimado del cache
+     */
+    public long trackedKeys() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    private long available(long state, long now) {
+        if (state == 0) {
+            return capacityMilli;
+        }
+        long lastUpdate = state >>> TOKEN_BITS;
+        long tokens = state & TOKEN_MASK;
+        long elapsed = Math.max(0, now - lastUpdate);
+        long refilled = tokens + (long) (elapsed * refillMilliPerMs);
+        return Math.min(capacityMilli, refilled);
+    }
+}
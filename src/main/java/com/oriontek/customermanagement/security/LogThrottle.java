@@ -0,0 +1,33 @@
+package com.oriontek.customermanagement.security;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limita la frecuencia de un mensaje de log a uno por intervalo.
+ * Los mensajes omitidos se cuentan y se informan en el siguiente mensaje permitido.
+ */
+class LogThrottle {
+
+    private final long intervalNanos;
+    private final AtomicLong nextAllowedNanos = new AtomicLong(System.nanoTime());
+    private final AtomicLong suppressed = new AtomicLong();
+
+    LogThrottle(Duration interval) {
+        this.intervalNanos = interval.toNanos();
+    }
+
+    /**
+     * Indica si se puede escribir el mensaje ahora.
+     * @return Número de mensajes omitidos desde el último permitido, o -1 si este también se omite
+     */
+    long tryAcquire() {
+        long now = System.nanoTime();
+        long next = nextAllowedNanos.get();
+        if (now - next >= 0 && nextAllowedNanos.compareAndSet(next, now + intervalNanos)) {
+            return suppressed.getAndSet(0);
+        }
+        suppressed.incrementAndGet();
+        return -1;
+    }
+}
@@ -0,0 +1,86 @@
+package com.oriontek.customermanagement.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pool dedicado para el trabajo de login (verificación BCrypt).
+ *
+ * Tiene tantos hilos como CPUs y una cola acotada: cuando ambos están llenos
+ * las nuevas solicitudes se rechazan de inmediato en lugar de ocupar hilos de Tomcat.
+ * El tamaño de la cola y los hilos activos se exponen como métricas executor.*
+ * con name=loginExecutor.
+ */
+@Slf4j
+@Component
+public class LoginExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    public LoginExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${app.security.login-executor.threads:0}") int threads,
+            @Value("${app.security.login-executor.queue-capacity:64}") int queueCapacity
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new LoginThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        new ExecutorServiceMetrics(executor, "loginExecutor", Tags.empty()).bindTo(meterRegistry);
+        log.info("Pool de login configurado con {} hilos y cola de {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Ejecuta una tarea de login en el pool dedicado.
+     *
+     * @param task Tarea a ejecutar
+     * @return Future con el resultado de la tarea
+     * @param <T> Tipo del resultado
+     * @throws RejectedExecutionException Si el pool y la cola están llenos
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Fábrica de hilos con nombre descriptivo para diagnósticos.
+     */
+    private static class LoginThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "login-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.oriontek.customermanagement.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Limitador de intentos de login por IP y por cuenta.
+ *
+ * Se consulta antes de cualquier trabajo de BCrypt, de modo que los intentos
+ * excedentes se rechazan sin costo de CPU. Cada IP y cada cuenta tiene su propio bucket,
+ * con memoria acotada por max-keys (ver {@link KeyedTokenBucket}).
+ * Métricas: auth.login.throttled (contador de rechazos) y auth.login.limiter.exhausted
+ * (buckets agotados), ambas con el tag dimension=ip|account.
+ */
+@Slf4j
+@Component
+public class LoginRateLimiter {
+
+    private final boolean enabled;
+    private final KeyedTokenBucket ipBuckets;
+    private final KeyedTokenBucket accountBuckets;
+    private final Counter ipRejections;
+    private final Counter accountRejections;
+
+    public LoginRateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${app.security.login-throttle.enabled:true}") boolean enabled,
+            @Value("${app.security.login-throttle.max-keys:100000}") long maxKeys,
+            @Value("${app.security.login-throttle.period:PT1M}") Duration period,
+            @Value("${app.security.login-throttle.ip.capacity:20}") int ipCapacity,
+            @Value("${app.security.login-throttle.ip.refill:20}") int ipRefill,
+            @Value("${app.security.login-throttle.account.capacity:5}") int accountCapacity,
+            @Value("${app.security.login-throttle.account.refill:5}") int accountRefill
+    ) {
+        this.enabled = enabled;
+        this.ipBuckets = new KeyedTokenBucket(maxKeys, ipCapacity, ipRefill, period.toMillis());
+        this.accountBuckets = new KeyedTokenBucket(maxKeys, accountCapacity, accountRefill, period.toMillis());
+
+        this.ipRejections = Counter.builder("auth.login.throttled")
+                .description("Intentos de login rechazados por el limitador")
+                .tag("dimension", "ip")
+                .register(meterRegistry);
+        this.accountRejections = Counter.builder("auth.login.throttled")
+                .description("Intentos de login rechazados por el limitador")
+                .tag("dimension", "account")
+                .register(meterRegistry);
+
+        Gauge.builder("auth.login.limiter.exhausted", ipBuckets, KeyedTokenBucket::exhaustedBuckets)
+                .description("Buckets del limitador sin tokens disponibles")
+                .tag("dimension", "ip")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.limiter.exhausted", accountBuckets, KeyedTokenBucket::exhaustedBuckets)
+                .description("Buckets del limitador sin tokens disponibles")
+                .tag("dimension", "account")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Verifica si se permite un intento de login y consume un token de cada dimensión.
+     *
+     * @param clientIp IP del cliente
+     * @param email Email de la cuenta
+     * @return true si el intento está permitido
+     */
+    public boolean tryAcquire(String clientIp, String email) {
+        if (!enabled) {
+            return true;
+        }
+
+        if (clientIp != null && !ipBuckets.tryAcquire(clientIp)) {
+            ipRejections.increment();
+            log.debug("Login limitado por IP: {}", clientIp);
+            return false;
+        }
+
+        if (email != null && !accountBuckets.tryAcquire(email.trim().toLowerCase(Locale.ROOT))) {
+            accountRejections.increment();
+            log.debug("Login limitado por cuenta: {}", email);
+            return false;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,124 @@
+package com.oriontek.customermanagement.security;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lista en memoria de tokens revocados (por jti), acotada por expiración.
+ *
+ * - Un filtro de Bloom responde en O(1) para la gran mayoría de tokens no revocados.
+ * - Un mapa exacto confirma los positivos del filtro.
+ * - Una rueda de tiempo (hashed timing wheel) elimina cada jti cuando expira su token,
+ *   y el filtro se reconstruye cuando hubo eliminaciones.
+ *
+ * La consulta {@link #isRevoked(String)} no toma locks; las escrituras son poco frecuentes
+ * y se serializan.
+ */
+public class TokenRevocationList {
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final Set<String>[] wheel;
+    private final long tickMillis;
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter bloomFilter;
+    private long currentTick;
+
+    /**
+     * @param slots Número de posiciones de la rueda
+     * @param tickMillis Duración de cada tick en milisegundos
+     * @param expectedInsertions Número esperado de tokens revocados vigentes
+     * @param falsePositiveRate Tasa de falsos positivos del filtro de Bloom
+     * @param nowMillis Instante inicial
+     */
+    @SuppressWarnings("unchecked")
+    public TokenRevocationList(int slots, long tickMillis, int expectedInsertions,
+                               double falsePositiveRate, long nowMillis) {
+        this.wheel = new Set[slots];
+        for (int i = 0; i < slots; i++) {
+            wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.tickMillis = tickMillis;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloomFilter = new BloomFilter(expectedInsertions, falsePositiveRate);
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Verifica si un token está revocado.
+     * @param jti Identificador del token
+     * @return true si el token fue revocado y aún no expira
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        return revoked.containsKey(jti);
+    }
+
+    /**
+     * Registra un token revocado hasta su expiración.
+     * @param jti Identificador del token
+     * @param expiresAtMillis Expiración del token en milisegundos epoch
+     */
+    public synchronized void revoke(String jti, long expiresAtMillis) {
+        if (jti == null || revoked.putIfAbsent(jti, expiresAtMillis) != null) {
+            return;
+        }
+        bloomFilter.put(jti);
+        wheel[slotFor(expiresAtMillis)].add(jti);
+    }
+
+    /**
+     * Avanza la rueda hasta el instante indicado y elimina los tokens expirados.
+     * @param nowMillis Instante actual en milisegundos epoch
+     * @return Número de tokens eliminados
+     */
+    public synchronized int advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        int removed = 0;
+
+        long ticksToProcess = Math.min(targetTick - currentTick, wheel.length - 1L);
+        for (long i = 0; i <= ticksToProcess; i++) {
+            int slot = (int) Math.floorMod(targetTick - i, (long) wheel.length);
+            Iterator<String> iterator = wheel[slot].iterator();
+            while (iterator.hasNext()) {
+                String jti = iterator.next();
+                Long expiresAt = revoked.get(jti);
+                if (expiresAt == null || expiresAt <= nowMillis) {
+                    iterator.remove();
+                    revoked.remove(jti);
+                    removed++;
+                }
+            }
+        }
+        currentTick = targetTick;
+
+        if (removed > 0) {
+            rebuildBloomFilter();
+        }
+        return removed;
+    }
+
+    /**
+     * Número de tokens revocados vigentes.
+     * @return Tamaño de la lista
+     */
+    public int size() {
+        return revoked.size();
+    }
+
+    private int slotFor(long expiresAtMillis) {
+        return (int) Math.floorMod(expiresAtMillis / tickMillis, (long) wheel.length);
+    }
+
+    private void rebuildBloomFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, revoked.size()), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        this.bloomFilter = rebuilt;
+    }
+}
@@ -0,0 +1,122 @@
+package com.oriontek.customermanagement.security;
+
+import com.oriontek.customermanagement.entity.User;
+import com.oriontek.customermanagement.event.UserChangedEvent;
+import com.oriontek.customermanagement.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tabla en memoria con la versión de token y el estado activo de cada usuario.
+ *
+ * Permite al filtro JWT rechazar tokens de usuarios desactivados o con datos
+ * modificados sin consultar la base de datos en cada request. Se carga al iniciar
+ * y se refresca con los eventos {@link UserChangedEvent} publicados por UserService.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserVersionRegistry {
+
+    private final UserRepository userRepository;
+
+    @Value("${jwt.stateless-principal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${jwt.stateless-principal.absent-ttl:PT1M}")
+    private Duration absentTtl;
+
+    private final Map<Long, UserVersion> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Carga las versiones de todos los usuarios al arrancar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+
+        userRepository.findAll().forEach(this::register);
+        log.info("Tabla de versiones de usuario cargada con {} usuarios", versions.size());
+    }
+
+    /**
+     * Refresca la versión de un usuario después del commit de su modificación.
+     * @param event Evento de cambio de usuario
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        versions.put(event.userId(), new UserVersion(event.tokenVersion(), event.active(), 0L));
+        log.debug("Versión de usuario {} actualizada a {}", event.userId(), event.tokenVersion());
+    }
+
+    /**
+     * Verifica si la versión de token sigue vigente para el usuario.
+     *
+     * Si el usuario no está en la tabla se consulta la base de datos fuera del mapa
+     * (sin bloquear a otros usuarios) y se guarda el resultado; un usuario inexistente
+     * se guarda como ausente durante absent-ttl para que sus tokens no consulten MySQL
+     * en cada request. Si mientras tanto llega un {@link UserChangedEvent}, prevalece el evento.
+     *
+     * @param userId ID del usuario
+     * @param tokenVersion Versión contenida en el token
+     * @return true si el usuario está activo y la versión coincide
+     */
+    public boolean isCurrent(Long userId, long tokenVersion) {
+        long now = System.currentTimeMillis();
+        UserVersion version = versions.get(userId);
+
+        if (version == null || version.isExpired(now)) {
+            UserVersion loaded = userRepository.findById(userId)
+                    .map(this::toVersion)
+                    .orElseGet(() -> UserVersion.absent(now + absentTtl.toMillis()));
+
+            if (version == null) {
+                UserVersion existing = versions.putIfAbsent(userId, loaded);
+                version = existing != null ? existing : loaded;
+            } else {
+                version = versions.replace(userId, version, loaded) ? loaded : versions.getOrDefault(userId, loaded);
+            }
+        }
+
+        return version.active() && version.tokenVersion() == tokenVersion;
+    }
+
+    private void register(User user) {
+        versions.put(user.getId(), toVersion(user));
+    }
+
+    private UserVersion toVersion(User user) {
+        return new UserVersion(
+                user.getTokenVersion() == null ? 0L : user.getTokenVersion(),
+                Boolean.TRUE.equals(user.getActive()),
+                0L
+        );
+    }
+
+    /**
+     * Versión de token y estado activo de un usuario.
+     * Las entradas de usuarios inexistentes expiran en expiresAtMillis; las demás (0) no expiran.
+     */
+    private record UserVersion(long tokenVersion, boolean active, long expiresAtMillis) {
+
+        static UserVersion absent(long expiresAtMillis) {
+            return new UserVersion(-1L, false, expiresAtMillis);
+        }
+
+        boolean isExpired(long nowMillis) {
+            return expiresAtMillis != 0 && expiresAtMillis <= nowMillis;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.oriontek.customermanagement.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.Date;
+
+/**
+ * Resultado de verificar un token JWT una sola vez.
+ * Agrupa el subject, la expiración y las authorities para que el filtro
+ * no tenga que volver a parsear el token en cada comprobación.
+ *
+ * @param subject Email del usuario (subject del token)
+ * @param expiration Fecha de expiración del token
+ * @param authorities Authorities declaradas en el token
+ * @param claims Claims completos ya verificados
+ */
+public record VerifiedToken(
+        String subject,
+        Date expiration,
+        Collection<? extends GrantedAuthority> authorities,
+        Claims claims
+) {
+
+    /**
+     * Verifica si el token ya expiró.
+     * @return true si la fecha de expiración ya pasó
+     */
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+
+    /**
+     * Identificador único del token (claim jti), usado para revocación.
+     * @return jti del token o null si el token no lo incluye
+     */
+    public String tokenId() {
+        return claims.getId();
+    }
+}
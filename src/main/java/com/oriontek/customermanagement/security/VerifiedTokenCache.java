@@ -0,0 +1,135 @@
+package com.oriontek.customermanagement.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * Cache acotado de tokens JWT ya verificados.
+ *
+ * Las entradas se indexan por el SHA-256 del token (nunca por el token en claro)
+ * y expiran en cuanto expira el propio token, o antes si se alcanza el TTL máximo.
+ *
+ * También guarda, en un cache separado y de vida corta, los digests de tokens rechazados,
+ * para que un cliente que reintenta con un token inválido o expirado no vuelva a pagar
+ * la verificación de la firma. Son caches distintos para que una avalancha de tokens
+ * inválidos no desaloje a los válidos.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, VerifiedToken> cache;
+    private final Cache<String, Boolean> rejected;
+    private final long maxTtlNanos;
+
+    public VerifiedTokenCache(
+            @Value("${jwt.cache.max-size:10000}") long maxSize,
+            @Value("${jwt.cache.max-ttl:PT10M}") Duration maxTtl,
+            @Value("${jwt.negative-cache.max-size:10000}") long rejectedMaxSize,
+            @Value("${jwt.negative-cache.ttl:PT1M}") Duration rejectedTtl
+    ) {
+        this.maxTtlNanos = maxTtl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+        this.rejected = Caffeine.newBuilder()
+                .maximumSize(rejectedMaxSize)
+                .expireAfterWrite(rejectedTtl)
+                .build();
+    }
+
+    /**
+     * Obtiene el token verificado asociado a un digest.
+     * @param digest Digest del token (ver {@link #digest(String)})
+     * @return Token verificado o null si no está en cache
+     */
+    public VerifiedToken get(String digest) {
+        return cache.getIfPresent(digest);
+    }
+
+    /**
+     * Guarda un token ya verificado.
+     * @param digest Digest del token
+     * @param verifiedToken Resultado de la verificación
+     */
+    public void put(String digest, VerifiedToken verifiedToken) {
+        if (!verifiedToken.isExpired()) {
+            cache.put(digest, verifiedToken);
+        }
+    }
+
+    /**
+     * Verifica si el token fue rechazado recientemente.
+     * @param digest Digest del token
+     * @return true si el token está en el cache negativo
+     */
+    public boolean isRejected(String digest) {
+        return rejected.getIfPresent(digest) != null;
+    }
+
+    /**
+     * Registra un token rechazado (firma inválida, expirado o mal formado).
+     * @param digest Digest del token
+     */
+    public void markRejected(String digest) {
+        rejected.put(digest, Boolean.TRUE);
+    }
+
+    /**
+     * Elimina todas las entradas de ambos caches.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        rejected.invalidateAll();
+    }
+
+    /**
+     * Calcula el digest SHA-256 del token en hexadecimal.
+     * @param token Token JWT
+     * @return Digest del token
+     */
+    public static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Política de expiración: cada entrada vive hasta la expiración del token,
+     * limitada por el TTL máximo configurado.
+     */
+    private class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            if (value.expiration() == null) {
+                return maxTtlNanos;
+            }
+            long remainingMillis = value.expiration().getTime() - System.currentTimeMillis();
+            return Math.max(0, Math.min(maxTtlNanos, Duration.ofMillis(remainingMillis).toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
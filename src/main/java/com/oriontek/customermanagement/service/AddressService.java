@@ -0,0 +1,120 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.dto.request.AddressSearchRequest;
+import com.oriontek.customermanagement.dto.response.AddressSearchResult;
+import com.oriontek.customermanagement.entity.Address;
+import com.oriontek.customermanagement.entity.Customer;
+import com.oriontek.customermanagement.entity.User;
+import com.oriontek.customermanagement.enums.Role;
+import com.oriontek.customermanagement.repository.AddressRepository;
+import com.oriontek.customermanagement.util.SearchText;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Servicio de búsqueda de direcciones.
+ *
+ * La consulta se arma solo con los filtros recibidos: igualdad o prefijo (LIKE 'valor%')
+ * sobre la columna sin LOWER(), que con la collation de la tabla ya no distingue mayúsculas
+ * y puede usar los índices idx_addresses_*. Siempre es paginada.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AddressService {
+
+    private final AddressRepository addressRepository;
+
+    /**
+     * Busca direcciones activas de clientes activos.
+     * SUPERADMIN puede filtrar por cualquier creador, ADMIN solo ve las de sus clientes.
+     *
+     * @param request Filtros de búsqueda
+     * @param pageable Información de paginación
+     * @return Página de direcciones con el ID de su cliente
+     */
+    @Transactional(readOnly = true)
+    public Page<AddressSearchResult> searchAddresses(AddressSearchRequest request, Pageable pageable) {
+        log.debug("Buscando direcciones con filtros: {}", request);
+
+        User currentUser = getCurrentUser();
+        Long ownerId;
+        if (currentUser.getRole() == Role.SUPERADMIN) {
+            ownerId = request.ownerId();
+        } else if (currentUser.getRole() == Role.ADMIN) {
+            if (request.ownerId() != null && !request.ownerId().equals(currentUser.getId())) {
+                throw new SecurityException("Solo puede buscar direcciones de sus propios clientes");
+            }
+            ownerId = currentUser.getId();
+        } else {
+            throw new SecurityException("No tiene permisos para buscar direcciones");
+        }
+
+        return addressRepository.findAll(toSpecification(request, ownerId), pageable)
+                .map(AddressSearchResult::fromEntity);
+    }
+
+    static Specification<Address> toSpecification(AddressSearchRequest request, Long ownerId) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.isTrue(root.get("active")));
+
+            Join<Address, Customer> customer = root.join("customer");
+            predicates.add(cb.isTrue(customer.get("active")));
+            if (ownerId != null) {
+                predicates.add(cb.equal(customer.get("createdBy").get("id"), ownerId));
+            }
+
+            addTextFilter(predicates, cb, root.get("city"), request.city(), request.prefix());
+            addTextFilter(predicates, cb, root.get("state"), request.state(), request.prefix());
+            addTextFilter(predicates, cb, root.get("country"), request.country(), request.prefix());
+            addTextFilter(predicates, cb, root.get("zipCode"), request.zipCode(), request.prefix());
+            if (request.type() != null) {
+                predicates.add(cb.equal(root.get("type"), request.type()));
+            }
+
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private static void addTextFilter(List<Predicate> predicates, CriteriaBuilder cb,
+                                      Path<String> path, String value, boolean prefix) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+
+        String trimmed = value.trim();
+        predicates.add(prefix
+                ? cb.like(path, SearchText.prefixPattern(trimmed), '!')
+                : cb.equal(path, trimmed));
+    }
+
+    /**
+     * Obtiene el usuario actualmente autenticado.
+     *
+     * @return Usuario actual
+     * @throws RuntimeException Si no hay usuario autenticado
+     */
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new RuntimeException("No hay usuario autenticado");
+        }
+
+        return (User) authentication.getPrincipal();
+    }
+}
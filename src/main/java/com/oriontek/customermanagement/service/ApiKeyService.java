@@ -0,0 +1,128 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.dto.request.CreateApiKeyRequest;
+import com.oriontek.customermanagement.dto.response.ApiKeyResponse;
+import com.oriontek.customermanagement.entity.ApiKey;
+import com.oriontek.customermanagement.entity.User;
+import com.oriontek.customermanagement.enums.Role;
+import com.oriontek.customermanagement.event.ApiKeyChangedEvent;
+import com.oriontek.customermanagement.repository.ApiKeyRepository;
+import com.oriontek.customermanagement.repository.UserRepository;
+import com.oriontek.customermanagement.security.ApiKeyRegistry;
+import io.jsonwebtoken.io.Encoders;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.util.List;
+
+/**
+ * Servicio para gestión de API keys.
+ * Solo SUPERADMIN puede crear, listar y revocar API keys, y solo para usuarios ADMIN.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ApiKeyService {
+
+    private static final String KEY_PREFIX = "otk_";
+    private static final int KEY_PREFIX_LENGTH = 12;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final ApiKeyRepository apiKeyRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Crea una API key para un usuario ADMIN.
+     *
+     * @param request Datos de la key
+     * @return ApiKeyResponse con la key en claro (única vez que se devuelve)
+     * @throws RuntimeException Si el owner no existe, no es ADMIN o está inactivo
+     */
+    @Transactional
+    public ApiKeyResponse createApiKey(CreateApiKeyRequest request) {
+        requireSuperAdmin("Solo SUPERADMIN puede crear API keys");
+
+        User owner = userRepository.findById(request.ownerId())
+                .orElseThrow(() -> new RuntimeException("Usuario no encontrado con ID: " + request.ownerId()));
+
+        if (owner.getRole() != Role.ADMIN) {
+            throw new RuntimeException("Solo se pueden crear API keys para usuarios ADMIN");
+        }
+        if (!Boolean.TRUE.equals(owner.getActive())) {
+            throw new RuntimeException("No se pueden crear API keys para usuarios inactivos");
+        }
+
+        String rawKey = newRawKey();
+        ApiKey apiKey = apiKeyRepository.save(ApiKey.builder()
+                .name(request.name())
+                .keyPrefix(rawKey.substring(0, KEY_PREFIX_LENGTH))
+                .keyHash(ApiKeyRegistry.hash(rawKey))
+                .owner(owner)
+                .expiresAt(request.expiresAt())
+                .build());
+
+        eventPublisher.publishEvent(new ApiKeyChangedEvent(owner.getId()));
+        log.info("API key {} creada para usuario: {}", apiKey.getKeyPrefix(), owner.getEmail());
+
+        return ApiKeyResponse.fromEntity(apiKey, rawKey);
+    }
+
+    /**
+     * Lista las API keys, opcionalmente filtradas por owner.
+     * @param ownerId ID del owner o null para todas
+     * @return Lista de API keys sin el valor en claro
+     */
+    @Transactional(readOnly = true)
+    public List<ApiKeyResponse> getApiKeys(Long ownerId) {
+        requireSuperAdmin("Solo SUPERADMIN puede ver API keys");
+
+        List<ApiKey> apiKeys = ownerId == null
+                ? apiKeyRepository.findAllWithOwner()
+                : apiKeyRepository.findByOwnerIdWithOwner(ownerId);
+
+        return apiKeys.stream()
+                .map(ApiKeyResponse::fromEntity)
+                .toList();
+    }
+
+    /**
+     * Revoca una API key.
+     * @param apiKeyId ID de la key
+     * @throws RuntimeException Si la key no existe
+     */
+    @Transactional
+    public void revokeApiKey(Long apiKeyId) {
+        requireSuperAdmin("Solo SUPERADMIN puede revocar API keys");
+
+        ApiKey apiKey = apiKeyRepository.findById(apiKeyId)
+                .orElseThrow(() -> new RuntimeException("API key no encontrada con ID: " + apiKeyId));
+
+        apiKey.setActive(false);
+        apiKeyRepository.save(apiKey);
+
+        eventPublisher.publishEvent(new ApiKeyChangedEvent(apiKey.getOwner().getId()));
+        log.info("API key {} revocada", apiKey.getKeyPrefix());
+    }
+
+    private static String newRawKey() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return KEY_PREFIX + Encoders.BASE64URL.encode(bytes);
+    }
+
+    private void requireSuperAdmin(String message) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof User currentUser)
+                || currentUser.getRole() != Role.SUPERADMIN) {
+            throw new SecurityException(message);
+        }
+    }
+}
@@ -2,8 +2,11 @@ package com.oriontek.customermanagement.service;
 
 import com.oriontek.customermanagement.dto.request.LoginRequest;
 import com.oriontek.customermanagement.dto.response.LoginResponse;
+import com.oriontek.customermanagement.dto.response.TokenValidationResult;
 import com.oriontek.customermanagement.entity.User;
+import com.oriontek.customermanagement.repository.UserRepository;
 import com.oriontek.customermanagement.security.JwtService;
+import com.oriontek.customermanagement.security.VerifiedToken;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -16,6 +19,14 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 /**
  * Servicio de autenticación que maneja el proceso de login.
  *
@@ -33,6 +44,9 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserRepository userRepository;
+    private final RefreshTokenService refreshTokenService;
 
     /**
      * Autentica un usuario y genera un token JWT.
@@ -41,7 +55,7 @@ public class AuthService {
      * @return LoginResponse con token y datos del usuario
      * @throws AuthenticationException Si las credenciales son inválidas
      */
-    @Transactional(readOnly = true)
+    @Transactional
     public LoginResponse authenticate(LoginRequest loginRequest) {
         String email = loginRequest.email();
         String password = loginRequest.password();
@@ -63,10 +77,11 @@ public class AuthService {
             }
 
             String jwtToken = jwtService.generateToken(userDetails);
+            String refreshToken = refreshTokenService.issue(user);
             log.info("Token JWT generado exitosamente para usuario: {}", email);
 
             LoginResponse.UserInfo userInfo = LoginResponse.UserInfo.fromEntity(user);
-            LoginResponse response = LoginResponse.of(jwtToken, userInfo);
+            LoginResponse response = LoginResponse.of(jwtToken, refreshToken, userInfo);
 
             log.info("Login exitoso para usuario: {} con rol: {}", email, user.getRole());
             return response;
@@ -89,6 +104,24 @@ public class AuthService {
         }
     }
 
+    /**
+     * Renueva el token de acceso con un refresh token, sin verificar la contraseña.
+     * El refresh token se rota: el recibido deja de ser válido.
+     *
+     * @param refreshToken Refresh token en claro
+     * @return LoginResponse con el nuevo token de acceso y el nuevo refresh token
+     * @throws BadCredentialsException Si el refresh token no es válido
+     */
+    public LoginResponse refresh(String refreshToken) {
+        RefreshTokenService.RotatedToken rotated = refreshTokenService.rotate(refreshToken);
+        User user = rotated.user();
+
+        String jwtToken = jwtService.generateToken(user);
+        log.info("Token JWT renovado para usuario: {}", user.getEmail());
+
+        return LoginResponse.of(jwtToken, rotated.refreshToken(), LoginResponse.UserInfo.fromEntity(user));
+    }
+
     /**
      * Valida un token JWT y devuelve información del usuario.
      * Útil para endpoints que necesitan verificar la validez del token.
@@ -100,11 +133,16 @@ public class AuthService {
     @Transactional(readOnly = true)
     public LoginResponse.UserInfo validateToken(String token) {
         try {
-            String email = jwtService.extractUsername(token);
+            VerifiedToken verifiedToken = jwtService.verifyToken(token);
+            String email = verifiedToken.subject();
+
+            if (tokenRevocationService.isRevoked(verifiedToken)) {
+                throw new RuntimeException("Token JWT revocado");
+            }
 
             UserDetails userDetails = userDetailsService.loadUserByUsername(email);
 
-            if (!jwtService.isTokenValid(token, userDetails)) {
+            if (!jwtService.isTokenValid(verifiedToken, userDetails)) {
                 throw new RuntimeException("Token JWT inválido");
             }
 
@@ -119,6 +157,90 @@ public class AuthService {
         }
     }
 
+    /**
+     * Valida un lote de tokens JWT.
+     *
+     * Las firmas se verifican de forma secuencial en el hilo de la request: el endpoint es
+     * público y un lote en paralelo ocuparía el ForkJoinPool común que comparte toda la JVM.
+     * Los tokens repetidos o ya vistos salen del cache de verificación de JwtService.
+     * Todos los usuarios distintos se cargan con una sola consulta IN, en lugar de una consulta por token.
+     *
+     * @param tokens Tokens JWT a validar
+     * @return Un resultado por token, en el mismo orden de la solicitud
+     */
+    @Transactional(readOnly = true)
+    public List<TokenValidationResult> validateTokens(List<String> tokens) {
+        List<VerifiedToken> verifiedTokens = tokens.stream()
+                .map(this::verifyQuietly)
+                .toList();
+
+        Set<String> subjects = verifiedTokens.stream()
+                .filter(Objects::nonNull)
+                .map(VerifiedToken::subject)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<String, User> users = subjects.isEmpty()
+                ? Map.of()
+                : userRepository.findByEmailInAndActive(subjects, true).stream()
+                        .collect(Collectors.toMap(User::getEmail, Function.identity()));
+
+        List<TokenValidationResult> results = IntStream.range(0, tokens.size())
+                .mapToObj(i -> toValidationResult(i, verifiedTokens.get(i), users))
+                .toList();
+
+        log.debug("Lote de {} tokens validado con {} usuarios distintos", tokens.size(), subjects.size());
+        return results;
+    }
+
+    private VerifiedToken verifyQuietly(String token) {
+        try {
+            return jwtService.verifyToken(token);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private TokenValidationResult toValidationResult(int index, VerifiedToken verifiedToken, Map<String, User> users) {
+        if (verifiedToken == null) {
+            return TokenValidationResult.invalid(index, "AUTH_TOKEN_INVALID");
+        }
+        if (tokenRevocationService.isRevoked(verifiedToken)) {
+            return TokenValidationResult.invalid(index, "AUTH_TOKEN_REVOKED");
+        }
+
+        User user = users.get(verifiedToken.subject());
+        if (user == null) {
+            return TokenValidationResult.invalid(index, "AUTH_USER_INACTIVE");
+        }
+        if (!jwtService.isTokenValid(verifiedToken, user)) {
+            return TokenValidationResult.invalid(index, "AUTH_TOKEN_INVALID");
+        }
+
+        return TokenValidationResult.valid(index, LoginResponse.UserInfo.fromEntity(user));
+    }
+
+    /**
+     * Revoca un token JWT en el servidor (logout).
+     * El token deja de ser aceptado en todos los nodos hasta su expiración.
+     *
+     * @param token Token JWT a revocar
+     * @return true si el token quedó revocado
+     * @throws RuntimeException Si el token es inválido
+     */
+    public boolean logout(String token) {
+        VerifiedToken verifiedToken = jwtService.verifyToken(token);
+        return tokenRevocationService.revoke(verifiedToken);
+    }
+
+    /**
+     * Revoca el refresh token (y su familia) en logout.
+     * @param refreshToken Refresh token en claro
+     */
+    public void revokeRefreshToken(String refreshToken) {
+        refreshTokenService.revoke(refreshToken);
+    }
+
     /**
      * Verifica si un usuario existe y está activo.
      * Útil para validaciones antes del login.
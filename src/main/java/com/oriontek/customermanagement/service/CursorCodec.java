@@ -0,0 +1,173 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.dto.response.CursorPage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Codifica y verifica los cursores de la paginación keyset sobre (createdAt, id).
+ *
+ * Un cursor es "payload.firma" en Base64 URL. La firma HMAC-SHA256 cubre también el
+ * alcance de la consulta (endpoint y owner), de modo que un cursor no se puede alterar
+ * ni reutilizar en otro listado.
+ */
+@Component
+public class CursorCodec {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final LocalDateTime START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int SIGNATURE_BYTES = 16;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private static final String DERIVED_KEY_LABEL = "cursor-v1";
+
+    final SecretKeySpec key;
+
+    /**
+     * Sin app.pagination.cursor-secret la clave se deriva de jwt.secret como
+     * HMAC-SHA256(jwt.secret, "cursor-v1"), de modo que nunca coincide con la clave de firma de los JWT.
+     */
+    public CursorCodec(
+            @Value("${app.pagination.cursor-secret:}") String cursorSecret,
+            @Value("${jwt.secret}") String jwtSecret
+    ) {
+        byte[] secret = cursorSecret.isBlank()
+                ? hmac(jwtSecret.getBytes(StandardCharsets.UTF_8), DERIVED_KEY_LABEL.getBytes(StandardCharsets.UTF_8))
+                : cursorSecret.getBytes(StandardCharsets.UTF_8);
+        this.key = new SecretKeySpec(secret, "HmacSHA256");
+    }
+
+    /**
+     * Decodifica un cursor. Un cursor vacío representa el inicio del listado.
+     *
+     * @param cursor Cursor recibido del cliente
+     * @param scope Alcance del listado (debe coincidir con el usado al emitirlo)
+     * @return Posición y dirección
+     * @throws IllegalArgumentException Si el cursor está mal formado o la firma no coincide
+     */
+    public Cursor decode(String cursor, String scope) {
+        if (cursor == null || cursor.isBlank()) {
+            return new Cursor(START, 0L, false);
+        }
+
+        int separator = cursor.indexOf('.');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+
+        try {
+            byte[] payload = DECODER.decode(cursor.substring(0, separator));
+            byte[] signature = DECODER.decode(cursor.substring(separator + 1));
+            if (!MessageDigest.isEqual(signature, sign(payload, scope))) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+
+            String[] parts = new String(payload, StandardCharsets.UTF_8).split("\\|");
+            return new Cursor(LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]), "b".equals(parts[0]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+
+    /**
+     * Arma la página a partir de las filas leídas (tamaño + 1 para saber si hay más).
+     *
+     * @param rows Filas en el orden de la consulta (descendente si el cursor es hacia atrás)
+     * @param size Tamaño de página
+     * @param position Cursor con el que se hizo la consulta
+     * @param scope Alcance del listado
+     * @param createdAt Extractor de createdAt
+     * @param id Extractor de id
+     * @param mapper Conversión a DTO
+     * @return Página con cursores next/prev
+     */
+    public <E, T> CursorPage<T> page(List<E> rows, int size, Cursor position, String scope,
+                                     Function<E, LocalDateTime> createdAt, Function<E, Long> id,
+                                     Function<E, T> mapper) {
+        boolean more = rows.size() > size;
+        List<E> content = new ArrayList<>(more ? rows.subList(0, size) : rows);
+        if (position.backward()) {
+            Collections.reverse(content);
+        }
+
+        boolean hasNext = position.backward() || more;
+        boolean hasPrev = position.backward() ? more : !position.isStart();
+
+        String next = null;
+        String prev = null;
+        if (!content.isEmpty()) {
+            E last = content.get(content.size() - 1);
+            E first = content.get(0);
+            next = hasNext ? encode(new Cursor(createdAt.apply(last), id.apply(last), false), scope) : null;
+            prev = hasPrev ? encode(new Cursor(createdAt.apply(first), id.apply(first), true), scope) : null;
+        }
+
+        return new CursorPage<>(content.stream().map(mapper).toList(), size, next, prev);
+    }
+
+    /**
+     * Limita el tamaño de página a [1, MAX_PAGE_SIZE].
+     * @param size Tamaño solicitado
+     * @return Tamaño efectivo
+     */
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    String encode(Cursor cursor, String scope) {
+        String text = (cursor.backward() ? "b" : "a") + "|" + cursor.createdAt() + "|" + cursor.id();
+        byte[] payload = text.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload, scope));
+    }
+
+    private static byte[] hmac(byte[] secret, byte[] data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            return mac.doFinal(data);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 no disponible", e);
+        }
+    }
+
+    private byte[] sign(byte[] payload, String scope) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            mac.update(scope.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Arrays.copyOf(mac.doFinal(payload), SIGNATURE_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 no disponible", e);
+        }
+    }
+
+    /**
+     * Posición en el listado: último (createdAt, id) visto y dirección de lectura.
+     *
+     * @param createdAt Fecha de creación del elemento de referencia
+     * @param id ID del elemento de referencia
+     * @param backward true para leer la página anterior
+     */
+    public record Cursor(LocalDateTime createdAt, Long id, boolean backward) {
+
+        boolean isStart() {
+            return !backward && id == 0L && START.equals(createdAt);
+        }
+    }
+}
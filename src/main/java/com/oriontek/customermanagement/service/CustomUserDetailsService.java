@@ -1,26 +1,65 @@
 package com.oriontek.customermanagement.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.oriontek.customermanagement.entity.User;
+import com.oriontek.customermanagement.enums.Role;
+import com.oriontek.customermanagement.event.UserChangedEvent;
 import com.oriontek.customermanagement.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
 
 /**
  * Implementación personalizada de UserDetailsService para Spring Security.
  * Este servicio es responsable de cargar los detalles del usuario desde la base de datos
  * durante el proceso de autenticación.
+ *
+ * Los usuarios activos se mantienen en un cache acotado con TTL, indexado por email.
+ * El cache guarda una copia inmutable de los datos del usuario y cada consulta devuelve
+ * una entidad User nueva (no administrada), de modo que modificar el principal de una
+ * request no altera lo que reciben las demás.
+ * Las entradas se invalidan con los {@link UserChangedEvent} publicados por UserService
+ * y por la actualización del hash de contraseña.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache<String, CachedUser> userCache;
+
+    public CustomUserDetailsService(
+            UserRepository userRepository,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${app.security.user-cache.max-size:10000}") long maxSize,
+            @Value("${app.security.user-cache.ttl:PT5M}") Duration ttl
+    ) {
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userCache, "userDetails");
+    }
 
     /**
      * Carga un usuario por su username (email en nuestro caso).
@@ -31,23 +70,22 @@ public class CustomUserDetailsService implements UserDetailsService {
      * @throws UsernameNotFoundException Si el usuario no existe
      */
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         log.debug("Intentando cargar usuario por email: {}", username);
 
         try {
-            User user = userRepository.findByEmailAndActive(username, true)
-                    .orElseThrow(() -> {
-                        log.warn("Usuario no encontrado o inactivo: {}", username);
-                        return new UsernameNotFoundException(
-                                "Usuario no encontrado con email: " + username
-                        );
-                    });
+            CachedUser user = findActiveUser(username);
+            if (user == null) {
+                log.warn("Usuario no encontrado o inactivo: {}", username);
+                throw new UsernameNotFoundException(
+                        "Usuario no encontrado con email: " + username
+                );
+            }
 
-            log.info("Usuario cargado exitosamente: {} con rol: {}",
-                    user.getEmail(), user.getRole());
+            log.debug("Usuario cargado exitosamente: {} con rol: {}",
+                    user.email(), user.role());
 
-            return user;
+            return user.toUser();
 
         } catch (UsernameNotFoundException e) {
             throw e;
@@ -68,7 +106,7 @@ public class CustomUserDetailsService implements UserDetailsService {
      */
     public boolean existsByEmail(String email) {
         try {
-            return userRepository.findByEmailAndActive(email, true).isPresent();
+            return findActiveUser(email) != null;
         } catch (Exception e) {
             log.error("Error al verificar existencia del usuario {}: {}", email, e.getMessage());
             return false;
@@ -80,14 +118,17 @@ public class CustomUserDetailsService implements UserDetailsService {
      * Útil para servicios que necesitan acceso directo a la entidad User.
      *
      * @param email Email del usuario
-     * @return User entity si existe
+     * @return Copia no administrada de la entidad User si existe
      * @throws UsernameNotFoundException Si el usuario no existe
      */
     public User getUserByEmail(String email) throws UsernameNotFoundException {
-        return userRepository.findByEmailAndActive(email, true)
-                .orElseThrow(() -> new UsernameNotFoundException(
-                        "Usuario no encontrado con email: " + email
-                ));
+        CachedUser user = findActiveUser(email);
+        if (user == null) {
+            throw new UsernameNotFoundException(
+                    "Usuario no encontrado con email: " + email
+            );
+        }
+        return user.toUser();
     }
 
     /**
@@ -108,12 +149,125 @@ public class CustomUserDetailsService implements UserDetailsService {
                 ));
 
         if (!user.getActive()) {
+            userCache.invalidate(user.getEmail());
             throw new UsernameNotFoundException(
                     "Usuario inactivo con ID: " + userId
             );
         }
 
+        CachedUser snapshot = CachedUser.from(user);
+        userCache.put(user.getEmail(), snapshot);
         log.debug("Datos del usuario refrescados: {}", user.getEmail());
-        return user;
+        return snapshot.toUser();
+    }
+
+    /**
+     * Guarda el nuevo hash de la contraseña cuando el encoder indica que el actual
+     * está desactualizado (costo menor o formato sin prefijo).
+     * Spring Security lo invoca tras un login exitoso; usa su propia transacción para que
+     * el nuevo hash se confirme aunque falle el resto del login. La entrada del cache se
+     * invalida con un {@link UserChangedEvent} después del commit de esa transacción, de modo
+     * que otra request no pueda volver a cachear el hash anterior antes de confirmarse el nuevo.
+     *
+     * @param userDetails Usuario autenticado
+     * @param newPassword Nuevo hash de la contraseña
+     * @return Usuario con la contraseña actualizada
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException(
+                        "Usuario no encontrado con email: " + userDetails.getUsername()
+                ));
+
+        user.setPassword(newPassword);
+        User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(
+                updatedUser.getId(),
+                updatedUser.getEmail(),
+                updatedUser.getEmail(),
+                Boolean.TRUE.equals(updatedUser.getActive()),
+                updatedUser.getTokenVersion()
+        ));
+
+        log.info("Hash de contraseña actualizado para usuario: {}", updatedUser.getEmail());
+        return updatedUser;
+    }
+
+    /**
+     * Invalida las entradas del usuario después del commit de su modificación.
+     * Se eliminan tanto el email anterior como el actual para cubrir cambios de email.
+     *
+     * @param event Evento de cambio de usuario
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        userCache.invalidate(event.previousEmail());
+        userCache.invalidate(event.email());
+        log.debug("Cache de usuario invalidado para: {}", event.email());
+    }
+
+    /**
+     * Busca un usuario activo por email, primero en cache y luego en la base de datos.
+     * Los usuarios inexistentes o inactivos no se guardan en cache.
+     *
+     * @param email Email del usuario
+     * @return Datos del usuario activo o null si no existe
+     */
+    private CachedUser findActiveUser(String email) {
+        return userCache.get(email, key ->
+                userRepository.findByEmailAndActive(key, true).map(CachedUser::from).orElse(null));
+    }
+
+    /**
+     * Copia inmutable de los datos de un usuario guardada en el cache.
+     */
+    private record CachedUser(
+            Long id,
+            String email,
+            String password,
+            String firstName,
+            String lastName,
+            Role role,
+            boolean active,
+            long tokenVersion,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt
+    ) {
+
+        static CachedUser from(User user) {
+            return new CachedUser(
+                    user.getId(),
+                    user.getEmail(),
+                    user.getPassword(),
+                    user.getFirstName(),
+                    user.getLastName(),
+                    user.getRole(),
+                    Boolean.TRUE.equals(user.getActive()),
+                    user.getTokenVersion() == null ? 0L : user.getTokenVersion(),
+                    user.getCreatedAt(),
+                    user.getUpdatedAt()
+            );
+        }
+
+        /**
+         * Construye una entidad User nueva, no administrada, con estos datos.
+         * Para asociarla a otra entidad debe usarse una referencia obtenida del repositorio.
+         */
+        User toUser() {
+            return User.builder()
+                    .id(id)
+                    .email(email)
+                    .password(password)
+                    .firstName(firstName)
+                    .lastName(lastName)
+                    .role(role)
+                    .active(active)
+                    .tokenVersion(tokenVersion)
+                    .createdAt(createdAt)
+                    .updatedAt(updatedAt)
+                    .build();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,169 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.dto.response.CustomerFacets;
+import com.oriontek.customermanagement.entity.Address;
+import com.oriontek.customermanagement.entity.Customer;
+import com.oriontek.customermanagement.util.SearchText;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Contadores en memoria de clientes activos por ciudad, país y tipo de dirección.
+ * Ciudades y países se agrupan sin distinción de mayúsculas ni acentos.
+ *
+ * Se guarda el aporte de cada cliente (valores distintos de sus direcciones activas) y,
+ * cuando cambia, se resta el aporte anterior y se suma el nuevo, tanto en los contadores
+ * globales como en los de su creador. Consultar las facetas es leer los contadores,
+ * sin GROUP BY sobre la tabla de direcciones. La carga y los cambios los aplica
+ * {@link CustomerReadModelLoader}.
+ */
+@Component
+public class CustomerFacetCounter implements CustomerReadModel {
+
+    public static final int MAX_VALUES = 100;
+
+    private final Map<Long, Contribution> contributions = new ConcurrentHashMap<>();
+    private final Counters global = new Counters();
+    private final Map<Long, Counters> byOwner = new ConcurrentHashMap<>();
+
+    /**
+     * Lee las facetas de un alcance.
+     *
+     * @param ownerId ID del usuario creador, o null para todos los clientes
+     * @param limit Número máximo de valores por faceta
+     * @return Conteos ordenados de mayor a menor
+     */
+    public CustomerFacets facets(Long ownerId, int limit) {
+        Counters counters = ownerId == null ? global : byOwner.get(ownerId);
+        if (counters == null) {
+            return new CustomerFacets(0, List.of(), List.of(), List.of());
+        }
+
+        return new CustomerFacets(
+                counters.customers.get(),
+                counters.cities.top(limit),
+                counters.countries.top(limit),
+                counters.types.top(limit)
+        );
+    }
+
+    @Override
+    public void put(Customer customer) {
+        Long ownerId = customer.getCreatedBy() != null ? customer.getCreatedBy().getId() : null;
+        Contribution contribution = Contribution.of(customer, ownerId);
+
+        contributions.compute(customer.getId(), (id, previous) -> {
+            if (previous != null) {
+                apply(previous, -1);
+            }
+            apply(contribution, 1);
+            return contribution;
+        });
+    }
+
+    @Override
+    public void remove(Long customerId) {
+        contributions.computeIfPresent(customerId, (id, previous) -> {
+            apply(previous, -1);
+            return null;
+        });
+    }
+
+    private void apply(Contribution contribution, int delta) {
+        global.apply(contribution, delta);
+        if (contribution.ownerId() != null) {
+            byOwner.computeIfAbsent(contribution.ownerId(), id -> new Counters()).apply(contribution, delta);
+        }
+    }
+
+    /**
+     * Valores distintos que aporta un cliente a cada faceta.
+     * Ciudades y países se indexan por su forma normalizada ({@link SearchText#fold}),
+     * igual que los compara la base de datos, y guardan la grafía original para mostrarla.
+     */
+    private record Contribution(Long ownerId, Map<String, String> cities, Map<String, String> countries,
+                                Map<String, String> types) {
+
+        static Contribution of(Customer customer, Long ownerId) {
+            List<Address> addresses = customer.getAddresses().stream()
+                    .filter(address -> Boolean.TRUE.equals(address.getActive()))
+                    .toList();
+
+            return new Contribution(
+                    ownerId,
+                    distinct(addresses.stream().map(Address::getCity).toList()),
+                    distinct(addresses.stream().map(Address::getCountry).toList()),
+                    addresses.stream()
+                            .map(address -> address.getType().name())
+                            .collect(Collectors.toMap(type -> type, type -> type, (first, second) -> first))
+            );
+        }
+
+        private static Map<String, String> distinct(List<String> values) {
+            Map<String, String> distinct = new HashMap<>();
+            for (String value : values) {
+                if (value != null && !value.isBlank()) {
+                    distinct.putIfAbsent(SearchText.fold(value), value.trim());
+                }
+            }
+            return distinct;
+        }
+    }
+
+    /**
+     * Contadores de un alcance.
+     */
+    private static final class Counters {
+
+        private final AtomicLong customers = new AtomicLong();
+        private final Facet cities = new Facet();
+        private final Facet countries = new Facet();
+        private final Facet types = new Facet();
+
+        void apply(Contribution contribution, int delta) {
+            customers.addAndGet(delta);
+            cities.add(contribution.cities(), delta);
+            countries.add(contribution.countries(), delta);
+            types.add(contribution.types(), delta);
+        }
+    }
+
+    /**
+     * Conteos de una faceta por valor normalizado. Los valores que llegan a cero se eliminan.
+     * La etiqueta de cada valor es la grafía del primer cliente que lo aportó.
+     */
+    private static final class Facet {
+
+        private final Map<String, Long> counts = new ConcurrentHashMap<>();
+        private final Map<String, String> labels = new ConcurrentHashMap<>();
+
+        void add(Map<String, String> values, int delta) {
+            values.forEach((key, label) -> counts.compute(key, (k, count) -> {
+                long updated = (count == null ? 0 : count) + delta;
+                if (updated <= 0) {
+                    labels.remove(k);
+                    return null;
+                }
+                labels.putIfAbsent(k, label);
+                return updated;
+            }));
+        }
+
+        List<CustomerFacets.FacetCount> top(int limit) {
+            return counts.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(entry -> new CustomerFacets.FacetCount(
+                            labels.getOrDefault(entry.getKey(), entry.getKey()), entry.getValue()))
+                    .toList();
+        }
+    }
+}
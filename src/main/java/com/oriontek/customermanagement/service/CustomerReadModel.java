@@ -0,0 +1,30 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.entity.Customer;
+
+/**
+ * Estructura en memoria derivada de los clientes activos (índices de búsqueda, sugerencias, facetas).
+ *
+ * No lee la base de datos por su cuenta: {@link CustomerReadModelLoader} la carga al iniciar
+ * con un único recorrido de la tabla y le aplica cada cambio de cliente ya leído.
+ */
+public interface CustomerReadModel {
+
+    /**
+     * Registra o reemplaza un cliente activo.
+     * @param customer Cliente activo con sus direcciones y su creador cargados
+     */
+    void put(Customer customer);
+
+    /**
+     * Elimina un cliente (desactivado o inexistente). No hace nada si no estaba registrado.
+     * @param customerId ID del cliente
+     */
+    void remove(Long customerId);
+
+    /**
+     * Publica los cambios aplicados desde la última llamada, si la estructura los acumula.
+     */
+    default void flush() {
+    }
+}
@@ -0,0 +1,204 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.entity.Customer;
+import com.oriontek.customermanagement.event.CustomerChangedEvent;
+import com.oriontek.customermanagement.repository.CustomerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Carga y mantiene todas las {@link CustomerReadModel} (índice de búsqueda, sugerencias, facetas).
+ *
+ * Al iniciar recorre una sola vez los clientes activos por lotes de ID, en el executor de tareas
+ * de Spring, y entrega cada lote a todas las estructuras. Cada {@link CustomerChangedEvent}
+ * se lee una sola vez de la base de datos y se aplica a todas. Los cambios hechos en otros
+ * nodos no generan eventos locales, así que además se consultan periódicamente los clientes
+ * con updated_at reciente, igual que {@link TokenRevocationService} con las revocaciones;
+ * esos cambios también invalidan las búsquedas en {@link CustomerSearchCache}.
+ *
+ * Un cliente que cambia mientras corre la carga puede llegar en un lote ya desactualizado;
+ * por eso los IDs cambiados durante la carga se marcan y la carga no los sobrescribe:
+ * el evento, que se lee después del commit, es la versión vigente. Carga y eventos
+ * se serializan por ID con un conjunto fijo de locks.
+ */
+@Slf4j
+@Component
+public class CustomerReadModelLoader {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final CustomerRepository customerRepository;
+    private final List<CustomerReadModel> readModels;
+    private final CustomerSearchCache customerSearchCache;
+    private final TaskExecutor taskExecutor;
+    private final int batchSize;
+    private final Duration pollOverlap;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final Set<Long> changedDuringLoad = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean loading;
+    private volatile LocalDateTime lastPolledAt;
+
+    public CustomerReadModelLoader(
+            CustomerRepository customerRepository,
+            List<CustomerReadModel> readModels,
+            CustomerSearchCache customerSearchCache,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            @Value("${app.customers.read-model.batch-size:500}") int batchSize,
+            @Value("${app.customers.read-model.poll-interval:PT30S}") Duration pollInterval
+    ) {
+        this.customerRepository = customerRepository;
+        this.readModels = readModels;
+        this.customerSearchCache = customerSearchCache;
+        this.taskExecutor = taskExecutor;
+        this.batchSize = batchSize;
+        this.pollOverlap = pollInterval;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Lanza la carga inicial en el executor de tareas de la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        taskExecutor.execute(this::load);
+    }
+
+    /**
+     * Recorre los clientes activos por lotes de ID y los registra en todas las estructuras.
+     */
+    public void load() {
+        long start = System.currentTimeMillis();
+        LocalDateTime loadStart = LocalDateTime.now();
+        int loaded = 0;
+        loading = true;
+
+        try {
+            Long lastId = 0L;
+            List<Long> ids;
+            while (!(ids = customerRepository.findActiveIdsAfter(lastId, PageRequest.of(0, batchSize))).isEmpty()) {
+                for (Customer customer : customerRepository.findWithAddressesByIdIn(ids)) {
+                    synchronized (lockFor(customer.getId())) {
+                        if (!changedDuringLoad.contains(customer.getId())) {
+                            apply(readModel -> readModel.put(customer));
+                        }
+                    }
+                }
+                apply(CustomerReadModel::flush);
+                loaded += ids.size();
+                lastId = ids.get(ids.size() - 1);
+            }
+
+            lastPolledAt = loadStart;
+            log.info("Estructuras de clientes en memoria cargadas: {} clientes en {} ms",
+                    loaded, System.currentTimeMillis() - start);
+
+        } catch (Exception e) {
+            log.error("Error al cargar las estructuras de clientes en memoria: {}", e.getMessage(), e);
+
+        } finally {
+            loading = false;
+            changedDuringLoad.clear();
+        }
+    }
+
+    /**
+     * Aplica a todas las estructuras el cambio de un cliente tras el commit.
+     * @param event Evento de cambio de cliente
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        refresh(event.customerId(), event.active());
+    }
+
+    /**
+     * Sincroniza los cambios de clientes hechos en otros nodos e invalida las búsquedas
+     * en cache del creador de cada cliente modificado.
+     * Se solapa una ventana con la consulta anterior; volver a aplicar un cliente es inofensivo.
+     * No hace nada hasta que termina la carga inicial.
+     */
+    @Scheduled(fixedDelayString = "${app.customers.read-model.poll-interval:PT30S}")
+    public void pollChanges() {
+        LocalDateTime since = lastPolledAt;
+        if (since == null) {
+            return;
+        }
+
+        LocalDateTime pollStart = LocalDateTime.now();
+        List<Long> ids = customerRepository.findIdsUpdatedAfter(since.minus(pollOverlap));
+        for (Long id : ids) {
+            Customer customer = refresh(id, true);
+            customerSearchCache.invalidate(customer != null && customer.getCreatedBy() != null
+                    ? customer.getCreatedBy().getId()
+                    : null);
+        }
+        lastPolledAt = pollStart;
+
+        if (!ids.isEmpty()) {
+            log.debug("{} clientes modificados sincronizados en las estructuras en memoria", ids.size());
+        }
+    }
+
+    /**
+     * Vuelve a leer un cliente y lo registra o elimina en todas las estructuras.
+     *
+     * @param customerId ID del cliente
+     * @param mayBeActive false si se sabe que el cliente está inactivo (se elimina sin leerlo)
+     * @return Cliente leído (activo o no), o null si no se leyó o ya no existe
+     */
+    Customer refresh(Long customerId, boolean mayBeActive) {
+        Customer customer;
+        synchronized (lockFor(customerId)) {
+            if (loading) {
+                changedDuringLoad.add(customerId);
+            }
+
+            customer = mayBeActive
+                    ? customerRepository.findWithAddressesByIdIn(List.of(customerId)).stream().findFirst().orElse(null)
+                    : null;
+
+            if (customer != null && Boolean.TRUE.equals(customer.getActive())) {
+                apply(readModel -> readModel.put(customer));
+            } else {
+                apply(readModel -> readModel.remove(customerId));
+            }
+        }
+        apply(CustomerReadModel::flush);
+        return customer;
+    }
+
+    /**
+     * Aplica una operación a cada estructura; el fallo de una no impide actualizar las demás.
+     */
+    private void apply(Consumer<CustomerReadModel> operation) {
+        for (CustomerReadModel readModel : readModels) {
+            try {
+                operation.accept(readModel);
+            } catch (RuntimeException e) {
+                log.error("Error al actualizar {}: {}", readModel.getClass().getSimpleName(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private Object lockFor(Long customerId) {
+        return locks[(int) Math.floorMod(customerId, (long) LOCK_STRIPES)];
+    }
+}
@@ -0,0 +1,43 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.dto.response.CustomerSummary;
+import com.oriontek.customermanagement.entity.Customer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Estrategia de búsqueda de clientes activos por nombre, apellido, email o documento.
+ *
+ * La implementación se elige por despliegue con app.search.mode:
+ * like (por defecto, {@link LikeCustomerSearch}), fulltext ({@link FullTextCustomerSearch})
+ * o prefix ({@link PrefixCustomerSearch}).
+ */
+public interface CustomerSearch {
+
+    /**
+     * Busca clientes activos que coinciden con el término.
+     * @param searchTerm Término de búsqueda
+     * @param pageable Información de paginación
+     * @return Página de clientes que coinciden
+     */
+    Page<Customer> searchActive(String searchTerm, Pageable pageable);
+
+    /**
+     * Busca clientes activos de un usuario creador que coinciden con el término.
+     * El filtro por creador se aplica en la consulta, por lo que la paginación es exacta.
+     * @param searchTerm Término de búsqueda
+     * @param ownerId ID del usuario que creó los clientes
+     * @param pageable Información de paginación
+     * @return Página de clientes del usuario que coinciden
+     */
+    Page<Customer> searchActiveByOwner(String searchTerm, Long ownerId, Pageable pageable);
+
+    /**
+     * Busca resúmenes de clientes activos que coinciden con el término, sin cargar entidades.
+     * @param searchTerm Término de búsqueda
+     * @param ownerId ID del usuario que creó los clientes, o null para todos
+     * @param pageable Información de paginación
+     * @return Página de resúmenes que coinciden
+     */
+    Page<CustomerSummary> searchActiveSummaries(String searchTerm, Long ownerId, Pageable pageable);
+}
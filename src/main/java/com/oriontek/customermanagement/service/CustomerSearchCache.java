@@ -0,0 +1,160 @@
+package com.oriontek.customermanagement.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.oriontek.customermanagement.dto.response.CustomerResponse;
+import com.oriontek.customermanagement.event.CustomerChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache acotado de resultados de búsqueda de clientes.
+ *
+ * La clave incluye el término normalizado, el alcance (todos los clientes o un usuario creador),
+ * la paginación y la generación del alcance. Cada cambio de cliente incrementa la generación
+ * de su creador y la global, de modo que las entradas anteriores dejan de consultarse sin
+ * recorrer el cache; se descartan luego por tamaño o TTL. Los cambios hechos en otros nodos
+ * llegan por la consulta periódica de {@link CustomerReadModelLoader}, que llama a
+ * {@link #invalidate(Long)} por cada cliente modificado.
+ *
+ * Las búsquedas concurrentes con la misma clave comparten una sola consulta: el primer hilo
+ * registra un futuro en el cache y ejecuta la búsqueda en su propio hilo (dentro de su transacción);
+ * los demás esperan ese futuro. El mapa interno solo se bloquea para registrar el futuro,
+ * no durante la consulta, por lo que no frena a otras claves del mismo segmento.
+ */
+@Slf4j
+@Component
+public class CustomerSearchCache {
+
+    private final AsyncCache<Key, Page<CustomerResponse>> cache;
+    private final boolean enabled;
+    private final AtomicLong globalGeneration = new AtomicLong();
+    private final Map<Long, AtomicLong> ownerGenerations = new ConcurrentHashMap<>();
+
+    public CustomerSearchCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.search.cache.max-size:1000}") long maxSize,
+            @Value("${app.search.cache.ttl:PT30S}") Duration ttl
+    ) {
+        this.enabled = maxSize > 0;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "customerSearch");
+    }
+
+    /**
+     * Obtiene la página del cache o la calcula una sola vez para todas las peticiones concurrentes.
+     *
+     * @param term Término ya normalizado (ver {@link #normalize(String)})
+     * @param ownerId ID del usuario creador, o null para la búsqueda sobre todos los clientes
+     * @param pageable Información de paginación
+     * @param loader Búsqueda a ejecutar si no hay entrada vigente
+     * @return Página de clientes
+     */
+    public Page<CustomerResponse> get(String term, Long ownerId, Pageable pageable,
+                                      Supplier<Page<CustomerResponse>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        Key key = new Key(term, ownerId, generation(ownerId), pageable);
+        CompletableFuture<Page<CustomerResponse>> created = new CompletableFuture<>();
+        CompletableFuture<Page<CustomerResponse>> future = cache.get(key, (k, executor) -> created);
+
+        if (future != created) {
+            return await(future);
+        }
+
+        try {
+            Page<CustomerResponse> page = loader.get();
+            created.complete(page);
+            return page;
+        } catch (Throwable e) {
+            // Caffeine descarta la entrada al completarse con error
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Invalida las búsquedas del creador del cliente y las globales tras el commit del cambio.
+     * @param event Evento de cambio de cliente
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        invalidate(event.ownerId());
+        log.debug("Búsquedas en cache invalidadas por cambio del cliente {}", event.customerId());
+    }
+
+    /**
+     * Invalida las búsquedas de un creador y las globales.
+     * Si no se conoce el creador (cliente eliminado) se invalidan las de todos los creadores.
+     * @param ownerId ID del usuario creador, o null si no se conoce
+     */
+    public void invalidate(Long ownerId) {
+        if (ownerId != null) {
+            ownerGenerations.computeIfAbsent(ownerId, id -> new AtomicLong()).incrementAndGet();
+        } else {
+            ownerGenerations.values().forEach(AtomicLong::incrementAndGet);
+        }
+        globalGeneration.incrementAndGet();
+    }
+
+    /**
+     * Normaliza el término para que variantes triviales compartan entrada
+     * ("  María  " y "maría"). La búsqueda se ejecuta con el término normalizado.
+     * @param searchTerm Término recibido
+     * @return Término sin espacios sobrantes y en minúsculas
+     */
+    public static String normalize(String searchTerm) {
+        if (searchTerm == null) {
+            return "";
+        }
+        return searchTerm.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static Page<CustomerResponse> await(CompletableFuture<Page<CustomerResponse>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private long generation(Long ownerId) {
+        if (ownerId == null) {
+            return globalGeneration.get();
+        }
+        return ownerGenerations.computeIfAbsent(ownerId, id -> new AtomicLong()).get();
+    }
+
+    /**
+     * Clave de una búsqueda: término, alcance, generación del alcance y paginación.
+     */
+    private record Key(String term, Long ownerId, long generation, Pageable pageable) {}
+}
@@ -0,0 +1,268 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.entity.Address;
+import com.oriontek.customermanagement.entity.Customer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Índice Lucene en proceso para búsqueda de clientes con ranking y tolerancia a errores de tipeo.
+ *
+ * Indexa nombre, email, documento y las direcciones activas (calle, ciudad, provincia, país)
+ * de los clientes activos. La selección de candidatos y el orden por relevancia se resuelven
+ * solo con el índice; MySQL únicamente se consulta para hidratar la página por ID.
+ * El índice vive solo en memoria: la carga al iniciar y los cambios (locales y de otros nodos)
+ * los aplica {@link CustomerReadModelLoader}.
+ */
+@Slf4j
+@Component
+public class CustomerSearchIndex implements CustomerReadModel {
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_OWNER = "owner";
+    private static final Map<String, Float> TEXT_FIELDS = Map.of(
+            "name", 3.0f,
+            "email", 2.0f,
+            "document", 2.0f,
+            "address", 1.0f
+    );
+    private static final int MAX_RESULT_WINDOW = 10_000;
+
+    private final Analyzer analyzer = new FoldingAnalyzer();
+    private final Directory directory;
+    private final IndexWriter indexWriter;
+    private final SearcherManager searcherManager;
+
+    public CustomerSearchIndex() throws IOException {
+        this.directory = new ByteBuffersDirectory();
+        this.indexWriter = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(indexWriter, null);
+    }
+
+    @Override
+    public void put(Customer customer) {
+        try {
+            indexWriter.updateDocument(idTerm(customer.getId()), toDocument(customer));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al indexar el cliente " + customer.getId(), e);
+        }
+    }
+
+    @Override
+    public void remove(Long customerId) {
+        try {
+            indexWriter.deleteDocuments(idTerm(customerId));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al eliminar del índice el cliente " + customerId, e);
+        }
+    }
+
+    /**
+     * Hace visibles para las búsquedas los documentos agregados o eliminados.
+     */
+    @Override
+    public void flush() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.error("Error al refrescar el índice de búsqueda de clientes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Busca clientes activos por relevancia.
+     *
+     * @param searchTerm Término de búsqueda (admite errores de tipeo y prefijos)
+     * @param ownerId ID del usuario creador para filtrar, o null para todos
+     * @param pageable Información de paginación (el orden es siempre por relevancia)
+     * @return Página de IDs de clientes ordenados por relevancia
+     */
+    public Page<Long> search(String searchTerm, Long ownerId, Pageable pageable) {
+        Query query = buildQuery(searchTerm, ownerId);
+        if (query == null) {
+            return Page.empty(pageable);
+        }
+
+        int offset = (int) Math.min(pageable.getOffset(), MAX_RESULT_WINDOW);
+        int limit = Math.min(offset + pageable.getPageSize(), MAX_RESULT_WINDOW);
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, Math.max(limit, 1));
+                int total = searcher.count(query);
+
+                List<Long> ids = new ArrayList<>();
+                ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+                for (int i = offset; i < scoreDocs.length && i < limit; i++) {
+                    ids.add(Long.valueOf(searcher.storedFields().document(scoreDocs[i].doc).get(FIELD_ID)));
+                }
+                return new PageImpl<>(ids, pageable, total);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al buscar en el índice de clientes", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        indexWriter.close();
+        directory.close();
+    }
+
+    /**
+     * Construye la consulta: cada palabra debe aparecer en algún campo, ya sea exacta,
+     * como prefijo o con hasta 1-2 errores de tipeo (en ese orden de puntuación).
+     */
+    private Query buildQuery(String searchTerm, Long ownerId) {
+        List<String> tokens = analyze(searchTerm);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String token : tokens) {
+            BooleanQuery.Builder tokenQuery = new BooleanQuery.Builder();
+            TEXT_FIELDS.forEach((field, boost) -> {
+                Term term = new Term(field, token);
+                tokenQuery.add(new BoostQuery(new TermQuery(term), boost * 3), BooleanClause.Occur.SHOULD);
+                if (token.length() >= 2) {
+                    tokenQuery.add(new BoostQuery(new PrefixQuery(term), boost * 2), BooleanClause.Occur.SHOULD);
+                }
+                if (token.length() >= 4) {
+                    int maxEdits = token.length() >= 7 ? 2 : 1;
+                    tokenQuery.add(new BoostQuery(new FuzzyQuery(term, maxEdits, 1), boost), BooleanClause.Occur.SHOULD);
+                }
+            });
+            query.add(tokenQuery.build(), BooleanClause.Occur.MUST);
+        }
+
+        if (ownerId != null) {
+            query.add(LongField.newExactQuery(FIELD_OWNER, ownerId), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    private Document toDocument(Customer customer) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, String.valueOf(customer.getId()), Field.Store.YES));
+        if (customer.getCreatedBy() != null) {
+            document.add(new LongField(FIELD_OWNER, customer.getCreatedBy().getId(), Field.Store.NO));
+        }
+
+        document.add(new TextField("name", normalize(customer.getFullName()), Field.Store.NO));
+        document.add(new TextField("email", normalize(customer.getEmail()), Field.Store.NO));
+
+        String documentNumber = customer.getDocumentNumber();
+        if (documentNumber != null) {
+            String digits = documentNumber.replaceAll("[^\\p{Alnum}]", "");
+            document.add(new TextField("document", normalize(documentNumber) + " " + digits, Field.Store.NO));
+        }
+
+        String addresses = customer.getAddresses().stream()
+                .filter(address -> Boolean.TRUE.equals(address.getActive()))
+                .map(CustomerSearchIndex::addressText)
+                .collect(Collectors.joining(" "));
+        document.add(new TextField("address", normalize(addresses), Field.Store.NO));
+
+        return document;
+    }
+
+    private static String addressText(Address address) {
+        return String.join(" ",
+                nullToEmpty(address.getStreet()),
+                nullToEmpty(address.getCity()),
+                nullToEmpty(address.getState()),
+                nullToEmpty(address.getCountry()));
+    }
+
+    private List<String> analyze(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        try (TokenStream stream = analyzer.tokenStream("name", normalize(text))) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tokens;
+    }
+
+    /**
+     * Separa por cualquier carácter que no sea letra o dígito, de modo que emails
+     * y documentos ("maria.gonzalez@correo.do", "001-1234567-8") se indexen por palabra.
+     */
+    private static String normalize(String text) {
+        return text == null ? "" : text.replaceAll("[^\\p{L}\\p{N}]+", " ");
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static Term idTerm(Long customerId) {
+        return new Term(FIELD_ID, String.valueOf(customerId));
+    }
+
+    /**
+     * Analizador sin distinción de mayúsculas ni acentos ("González" = "gonzalez").
+     */
+    private static final class FoldingAnalyzer extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            StandardTokenizer tokenizer = new StandardTokenizer();
+            TokenStream stream = new LowerCaseFilter(tokenizer);
+            stream = new ASCIIFoldingFilter(stream);
+            return new TokenStreamComponents(tokenizer, stream);
+        }
+    }
+}
@@ -1,15 +1,25 @@
 package com.oriontek.customermanagement.service;
 
 import com.oriontek.customermanagement.dto.request.CreateCustomerRequest;
+import com.oriontek.customermanagement.dto.response.CursorPage;
+import com.oriontek.customermanagement.dto.response.CustomerFacets;
 import com.oriontek.customermanagement.dto.response.CustomerResponse;
+import com.oriontek.customermanagement.dto.response.CustomerSuggestion;
+import com.oriontek.customermanagement.dto.response.CustomerSummary;
+import com.oriontek.customermanagement.dto.response.FieldSelection;
 import com.oriontek.customermanagement.entity.Address;
 import com.oriontek.customermanagement.entity.Customer;
 import com.oriontek.customermanagement.entity.User;
 import com.oriontek.customermanagement.enums.Role;
+import com.oriontek.customermanagement.event.CustomerChangedEvent;
 import com.oriontek.customermanagement.repository.CustomerRepository;
+import com.oriontek.customermanagement.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,6 +27,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Servicio para gestión de clientes.
@@ -28,10 +42,20 @@ import java.util.List;
 public class CustomerService {
 
     private final CustomerRepository customerRepository;
+    private final UserRepository userRepository;
+    private final CustomerSearch customerSearch;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final CustomerSuggestIndex customerSuggestIndex;
+    private final CustomerSearchCache customerSearchCache;
+    private final CustomerFacetCounter customerFacetCounter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CursorCodec cursorCodec;
 
     /**
      * Crea un nuevo cliente con sus direcciones.
      * Solo ADMIN y SUPERADMIN pueden crear clientes.
+     * El creador se asocia con una referencia del repositorio, ya que el principal
+     * de la request es una copia no administrada del usuario.
      *
      * @param request Datos del nuevo cliente
      * @return CustomerResponse con los datos del cliente creado
@@ -68,7 +92,7 @@ public class CustomerService {
                     .documentType(request.documentType())
                     .notes(request.notes())
                     .active(true)
-                    .createdBy(currentUser)
+                    .createdBy(userRepository.getReferenceById(currentUser.getId()))
                     .build();
 
             List<Address> addresses = request.addresses().stream()
@@ -89,6 +113,7 @@ public class CustomerService {
             addresses.forEach(newCustomer::addAddress);
 
             Customer savedCustomer = customerRepository.save(newCustomer);
+            publishCustomerChanged(savedCustomer);
 
             log.info("Cliente creado exitosamente: {} con ID: {} por usuario: {}",
                     savedCustomer.getEmail(), savedCustomer.getId(), currentUser.getEmail());
@@ -150,9 +175,72 @@ public class CustomerService {
         return CustomerResponse.fromEntity(customer);
     }
 
+    /**
+     * Obtiene clientes con paginación devolviendo solo los campos seleccionados (fields).
+     * El creador solo se carga si se pide createdBy; las direcciones solo se leen
+     * (en un lote por página) si se pide addresses.
+     *
+     * @param fields Campos seleccionados
+     * @param pageable Información de paginación
+     * @return Página de clientes con los campos seleccionados
+     * @throws IllegalArgumentException Si la selección contiene campos desconocidos
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllCustomers(FieldSelection fields, Pageable pageable) {
+        log.debug("Obteniendo clientes con paginación y campos {}", fields.names());
+
+        CustomerResponse.FIELDS.validate(fields);
+        User currentUser = getCurrentUser();
+        boolean withCreator = fields.includes("createdBy");
+
+        Page<Customer> customers;
+        if (currentUser.getRole() == Role.SUPERADMIN) {
+            customers = withCreator
+                    ? customerRepository.findByActiveTrue(pageable)
+                    : customerRepository.findActiveWithoutCreator(pageable);
+        } else if (currentUser.getRole() == Role.ADMIN) {
+            customers = withCreator
+                    ? customerRepository.findByCreatedByAndActive(currentUser, true, pageable)
+                    : customerRepository.findActiveByOwnerWithoutCreator(currentUser.getId(), pageable);
+        } else {
+            throw new SecurityException("No tiene permisos para ver clientes");
+        }
+
+        return customers.map(customer -> CustomerResponse.FIELDS.render(customer, fields));
+    }
+
+    /**
+     * Obtiene un cliente por su ID devolviendo solo los campos seleccionados (fields).
+     * SUPERADMIN puede ver cualquier cliente, ADMIN solo los que creó.
+     *
+     * @param customerId ID del cliente
+     * @param fields Campos seleccionados
+     * @return Cliente con los campos seleccionados
+     * @throws IllegalArgumentException Si la selección contiene campos desconocidos
+     * @throws RuntimeException Si el cliente no existe o no tiene permisos
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getCustomerById(Long customerId, FieldSelection fields) {
+        log.debug("Obteniendo cliente por ID: {} con campos {}", customerId, fields.names());
+
+        CustomerResponse.FIELDS.validate(fields);
+        User currentUser = getCurrentUser();
+
+        Customer customer = customerRepository.findById(customerId)
+                .orElseThrow(() -> new RuntimeException("Cliente no encontrado con ID: " + customerId));
+
+        if (currentUser.getRole() == Role.ADMIN &&
+                !customer.getCreatedBy().getId().equals(currentUser.getId())) {
+            throw new SecurityException("No tiene permisos para ver este cliente");
+        }
+
+        return CustomerResponse.FIELDS.render(customer, fields);
+    }
+
     /**
      * Busca clientes por término de búsqueda.
      * SUPERADMIN busca en todos los clientes, ADMIN solo en los que creó.
+     * Los resultados se guardan en {@link CustomerSearchCache} hasta el siguiente cambio de cliente.
      *
      * @param searchTerm Término de búsqueda
      * @param pageable Información de paginación
@@ -163,29 +251,177 @@ public class CustomerService {
         log.debug("Buscando clientes con término: {}", searchTerm);
 
         User currentUser = getCurrentUser();
+        String term = CustomerSearchCache.normalize(searchTerm);
 
         if (currentUser.getRole() == Role.SUPERADMIN) {
-            return customerRepository.searchActiveCustomers(searchTerm, true, pageable)
-                    .map(CustomerResponse::fromEntity);
+            return customerSearchCache.get(term, null, pageable, () ->
+                    customerSearch.searchActive(term, pageable).map(CustomerResponse::fromEntity));
+        } else if (currentUser.getRole() == Role.ADMIN) {
+            Long ownerId = currentUser.getId();
+            return customerSearchCache.get(term, ownerId, pageable, () ->
+                    customerSearch.searchActiveByOwner(term, ownerId, pageable).map(CustomerResponse::fromEntity));
+        } else {
+            throw new SecurityException("No tiene permisos para buscar clientes");
+        }
+    }
+
+    /**
+     * Búsqueda de clientes por relevancia con el índice Lucene.
+     * Admite prefijos y errores de tipeo, y busca también en las direcciones.
+     * SUPERADMIN busca en todos los clientes, ADMIN solo en los que creó.
+     *
+     * Mientras la carga inicial del índice sigue en curso los resultados pueden ser parciales.
+     * Los clientes se vuelven a filtrar por estado y propietario al leerlos de la base de datos:
+     * si el índice aún no refleja una desactivación, la página trae menos elementos que el
+     * tamaño pedido y, salvo en la última página, totalElements sigue contando los descartados.
+     *
+     * @param searchTerm Término de búsqueda
+     * @param pageable Información de paginación (el orden es por relevancia)
+     * @return Página de clientes ordenados por relevancia
+     */
+    @Transactional(readOnly = true)
+    public Page<CustomerResponse> searchCustomersRanked(String searchTerm, Pageable pageable) {
+        log.debug("Búsqueda por relevancia con término: {}", searchTerm);
+
+        User currentUser = getCurrentUser();
+        Long ownerId;
+        if (currentUser.getRole() == Role.SUPERADMIN) {
+            ownerId = null;
         } else if (currentUser.getRole() == Role.ADMIN) {
-            Page<Customer> allResults = customerRepository.searchActiveCustomers(searchTerm, true, pageable);
+            ownerId = currentUser.getId();
+        } else {
+            throw new SecurityException("No tiene permisos para buscar clientes");
+        }
 
-            List<CustomerResponse> filteredResults = allResults.getContent().stream()
-                    .filter(customer -> customer.getCreatedBy() != null &&
-                            customer.getCreatedBy().getId().equals(currentUser.getId()))
-                    .map(CustomerResponse::fromEntity)
-                    .toList();
+        Page<Long> ids = customerSearchIndex.search(searchTerm, ownerId, pageable);
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
+        }
+
+        List<Customer> found = ownerId == null
+                ? customerRepository.findActiveWithAddressesByIdIn(ids.getContent())
+                : customerRepository.findActiveByOwnerWithAddressesByIdIn(ownerId, ids.getContent());
+        Map<Long, Customer> customers = found.stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+
+        List<CustomerResponse> content = ids.getContent().stream()
+                .map(customers::get)
+                .filter(Objects::nonNull)
+                .map(CustomerResponse::fromEntity)
+                .toList();
+
+        return new PageImpl<>(content, pageable, ids.getTotalElements());
+    }
+
+    /**
+     * Obtiene resúmenes de clientes (vista summary), leídos como proyección sin cargar entidades.
+     * SUPERADMIN ve todos los clientes, ADMIN solo los que creó.
+     *
+     * @param pageable Información de paginación
+     * @return Página de resúmenes
+     */
+    @Transactional(readOnly = true)
+    public Page<CustomerSummary> getCustomerSummaries(Pageable pageable) {
+        log.debug("Obteniendo resúmenes de clientes con paginación");
+
+        User currentUser = getCurrentUser();
+
+        if (currentUser.getRole() == Role.SUPERADMIN) {
+            return customerRepository.findActiveSummaries(pageable);
+        } else if (currentUser.getRole() == Role.ADMIN) {
+            return customerRepository.findActiveSummariesByOwner(currentUser.getId(), pageable);
+        } else {
+            throw new SecurityException("No tiene permisos para ver clientes");
+        }
+    }
+
+    /**
+     * Busca resúmenes de clientes por término (vista summary).
+     * Usa la misma estrategia de búsqueda que {@link #searchCustomers(String, Pageable)}.
+     *
+     * @param searchTerm Término de búsqueda
+     * @param pageable Información de paginación
+     * @return Página de resúmenes que coinciden con la búsqueda
+     */
+    @Transactional(readOnly = true)
+    public Page<CustomerSummary> searchCustomerSummaries(String searchTerm, Pageable pageable) {
+        log.debug("Buscando resúmenes de clientes con término: {}", searchTerm);
 
-            return new org.springframework.data.domain.PageImpl<>(
-                    filteredResults,
-                    pageable,
-                    filteredResults.size()
-            );
+        User currentUser = getCurrentUser();
+        String term = CustomerSearchCache.normalize(searchTerm);
+
+        if (currentUser.getRole() == Role.SUPERADMIN) {
+            return customerSearch.searchActiveSummaries(term, null, pageable);
+        } else if (currentUser.getRole() == Role.ADMIN) {
+            return customerSearch.searchActiveSummaries(term, currentUser.getId(), pageable);
         } else {
             throw new SecurityException("No tiene permisos para buscar clientes");
         }
     }
 
+    /**
+     * Obtiene resúmenes de los clientes creados por un usuario (vista summary).
+     * Solo SUPERADMIN puede usar esta función.
+     *
+     * @param createdByUserId ID del usuario que creó los clientes
+     * @param pageable Información de paginación
+     * @return Página de resúmenes
+     */
+    @Transactional(readOnly = true)
+    public Page<CustomerSummary> getCustomerSummariesByCreatedBy(Long createdByUserId, Pageable pageable) {
+        log.debug("Obteniendo resúmenes de clientes creados por usuario ID: {}", createdByUserId);
+
+        User currentUser = getCurrentUser();
+        if (currentUser.getRole() != Role.SUPERADMIN) {
+            throw new SecurityException("Solo SUPERADMIN puede ver clientes por usuario");
+        }
+
+        return customerRepository.findActiveSummariesByOwner(createdByUserId, pageable);
+    }
+
+    /**
+     * Sugerencias de autocompletado por prefijo de nombre, email o documento.
+     * Se resuelve con el índice en memoria, sin consultar la base de datos.
+     * SUPERADMIN recibe sugerencias de todos los clientes, ADMIN solo de los que creó.
+     *
+     * @param prefix Texto escrito por el usuario
+     * @param limit Número máximo de sugerencias
+     * @return Lista de sugerencias
+     */
+    public List<CustomerSuggestion> suggestCustomers(String prefix, int limit) {
+        User currentUser = getCurrentUser();
+        int effectiveLimit = Math.max(1, Math.min(limit, CustomerSuggestIndex.MAX_SUGGESTIONS));
+
+        if (currentUser.getRole() == Role.SUPERADMIN) {
+            return customerSuggestIndex.suggest(prefix, null, effectiveLimit);
+        } else if (currentUser.getRole() == Role.ADMIN) {
+            return customerSuggestIndex.suggest(prefix, currentUser.getId(), effectiveLimit);
+        } else {
+            throw new SecurityException("No tiene permisos para buscar clientes");
+        }
+    }
+
+    /**
+     * Conteos de clientes activos por ciudad, país y tipo de dirección.
+     * Se leen de contadores en memoria, sin consultar la base de datos.
+     * SUPERADMIN recibe los conteos de todos los clientes, ADMIN solo de los que creó.
+     *
+     * @param limit Número máximo de valores por faceta
+     * @return Facetas del alcance del usuario actual
+     */
+    public CustomerFacets getCustomerFacets(int limit) {
+        User currentUser = getCurrentUser();
+        int effectiveLimit = Math.max(1, Math.min(limit, CustomerFacetCounter.MAX_VALUES));
+
+        if (currentUser.getRole() == Role.SUPERADMIN) {
+            return customerFacetCounter.facets(null, effectiveLimit);
+        } else if (currentUser.getRole() == Role.ADMIN) {
+            return customerFacetCounter.facets(currentUser.getId(), effectiveLimit);
+        } else {
+            throw new SecurityException("No tiene permisos para ver clientes");
+        }
+    }
+
     /**
      * Desactiva un cliente (soft delete).
      * SUPERADMIN puede desactivar cualquier cliente, ADMIN solo los que creó.
@@ -208,6 +444,7 @@ public class CustomerService {
 
         customer.setActive(false);
         customerRepository.save(customer);
+        publishCustomerChanged(customer);
 
         log.info("Cliente desactivado exitosamente: {} por usuario: {}",
                 customer.getEmail(), currentUser.getEmail());
@@ -235,6 +472,7 @@ public class CustomerService {
 
         customer.setActive(true);
         customerRepository.save(customer);
+        publishCustomerChanged(customer);
 
         log.info("Cliente activado exitosamente: {} por usuario: {}",
                 customer.getEmail(), currentUser.getEmail());
@@ -291,6 +529,78 @@ public class CustomerService {
                 .map(CustomerResponse::fromEntity);
     }
 
+    /**
+     * Obtiene clientes con paginación por cursor sobre (createdAt, id).
+     * Mismo alcance que {@link #getAllCustomers(Pageable)}, pero sin OFFSET ni conteo.
+     *
+     * @param cursor Cursor opaco (vacío para la primera página)
+     * @param size Tamaño de página
+     * @return Página con cursores next/prev
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CustomerResponse> getAllCustomers(String cursor, int size) {
+        log.debug("Obteniendo clientes con paginación por cursor");
+
+        User currentUser = getCurrentUser();
+
+        if (currentUser.getRole() == Role.SUPERADMIN) {
+            return customersByCursor(null, "customers", cursor, size);
+        } else if (currentUser.getRole() == Role.ADMIN) {
+            return customersByCursor(currentUser.getId(), "customers:" + currentUser.getId(), cursor, size);
+        } else {
+            throw new SecurityException("No tiene permisos para ver clientes");
+        }
+    }
+
+    /**
+     * Obtiene los clientes creados por un usuario con paginación por cursor.
+     * Solo SUPERADMIN puede usar esta función.
+     *
+     * @param createdByUserId ID del usuario que creó los clientes
+     * @param cursor Cursor opaco (vacío para la primera página)
+     * @param size Tamaño de página
+     * @return Página con cursores next/prev
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CustomerResponse> getCustomersByCreatedBy(Long createdByUserId, String cursor, int size) {
+        log.debug("Obteniendo clientes por cursor creados por usuario ID: {}", createdByUserId);
+
+        User currentUser = getCurrentUser();
+        if (currentUser.getRole() != Role.SUPERADMIN) {
+            throw new SecurityException("Solo SUPERADMIN puede ver clientes por usuario");
+        }
+
+        return customersByCursor(createdByUserId, "customers-by-user:" + createdByUserId, cursor, size);
+    }
+
+    private CursorPage<CustomerResponse> customersByCursor(Long ownerId, String scope, String cursor, int size) {
+        CursorCodec.Cursor position = cursorCodec.decode(cursor, scope);
+        int pageSize = CursorCodec.clampSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<Customer> rows;
+        if (ownerId == null) {
+            rows = position.backward()
+                    ? customerRepository.findActiveBefore(position.createdAt(), position.id(), limit)
+                    : customerRepository.findActiveAfter(position.createdAt(), position.id(), limit);
+        } else {
+            rows = position.backward()
+                    ? customerRepository.findActiveByOwnerBefore(ownerId, position.createdAt(), position.id(), limit)
+                    : customerRepository.findActiveByOwnerAfter(ownerId, position.createdAt(), position.id(), limit);
+        }
+
+        return cursorCodec.page(rows, pageSize, position, scope,
+                Customer::getCreatedAt, Customer::getId, CustomerResponse::fromEntity);
+    }
+
+    private void publishCustomerChanged(Customer customer) {
+        eventPublisher.publishEvent(new CustomerChangedEvent(
+                customer.getId(),
+                customer.getCreatedBy() != null ? customer.getCreatedBy().getId() : null,
+                Boolean.TRUE.equals(customer.getActive())
+        ));
+    }
+
     /**
      * Obtiene el usuario actualmente autenticado.
      *
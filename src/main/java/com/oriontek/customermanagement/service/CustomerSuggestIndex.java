@@ -0,0 +1,157 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.dto.response.CustomerSuggestion;
+import com.oriontek.customermanagement.entity.Customer;
+import com.oriontek.customermanagement.util.SearchText;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Índice de prefijos en memoria para el autocompletado de clientes activos.
+ *
+ * Cada cliente se registra bajo varias claves normalizadas (nombre completo, cada palabra
+ * del nombre, email y documento) en un {@link ConcurrentSkipListMap} global y en uno por
+ * usuario creador, de modo que una sugerencia es un recorrido acotado de un rango de claves
+ * sin tocar la base de datos. La carga y los cambios los aplica {@link CustomerReadModelLoader}.
+ */
+@Component
+public class CustomerSuggestIndex implements CustomerReadModel {
+
+    public static final int MAX_SUGGESTIONS = 25;
+
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final ConcurrentSkipListMap<String, Entry> global = new ConcurrentSkipListMap<>();
+    private final Map<Long, ConcurrentSkipListMap<String, Entry>> byOwner = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Devuelve los primeros clientes cuyo nombre, apellido, email o documento empiezan por el prefijo.
+     *
+     * @param prefix Texto escrito por el usuario (sin distinción de mayúsculas ni acentos)
+     * @param ownerId ID del usuario creador para filtrar, o null para todos
+     * @param limit Número máximo de sugerencias
+     * @return Sugerencias en orden de clave
+     */
+    public List<CustomerSuggestion> suggest(String prefix, Long ownerId, int limit) {
+        String key = SearchText.fold(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        NavigableMap<String, Entry> index = ownerId == null ? global : byOwner.get(ownerId);
+        if (index == null) {
+            return List.of();
+        }
+
+        Map<Long, CustomerSuggestion> results = new LinkedHashMap<>();
+        for (Entry entry : index.subMap(key, true, key + Character.MAX_VALUE, false).values()) {
+            results.putIfAbsent(entry.suggestion().id(), entry.suggestion());
+            if (results.size() >= limit) {
+                break;
+            }
+        }
+        return new ArrayList<>(results.values());
+    }
+
+    /**
+     * Número de clientes registrados en el índice.
+     * @return Cantidad de clientes
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void put(Customer customer) {
+        Long ownerId = customer.getCreatedBy() != null ? customer.getCreatedBy().getId() : null;
+        CustomerSuggestion suggestion = new CustomerSuggestion(
+                customer.getId(), customer.getFullName(), customer.getEmail(), customer.getDocumentNumber());
+        Entry entry = new Entry(suggestion, ownerId, keys(customer));
+
+        entries.compute(customer.getId(), (id, previous) -> {
+            if (previous != null) {
+                unlink(previous);
+            }
+            link(entry);
+            return entry;
+        });
+    }
+
+    @Override
+    public void remove(Long customerId) {
+        entries.computeIfPresent(customerId, (id, previous) -> {
+            unlink(previous);
+            return null;
+        });
+    }
+
+    private void link(Entry entry) {
+        ConcurrentSkipListMap<String, Entry> owned = entry.ownerId() == null
+                ? null
+                : byOwner.computeIfAbsent(entry.ownerId(), id -> new ConcurrentSkipListMap<>());
+        for (String key : entry.keys()) {
+            global.put(key, entry);
+            if (owned != null) {
+                owned.put(key, entry);
+            }
+        }
+    }
+
+    private void unlink(Entry entry) {
+        ConcurrentSkipListMap<String, Entry> owned = entry.ownerId() == null ? null : byOwner.get(entry.ownerId());
+        for (String key : entry.keys()) {
+            global.remove(key);
+            if (owned != null) {
+                owned.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Claves del cliente: nombre completo, cada palabra del nombre desde su posición
+     * ("gonzalez perez"), email y documento con y sin separadores.
+     * El ID al final de cada clave permite que varios clientes compartan prefijo.
+     */
+    private static Set<String> keys(Customer customer) {
+        Set<String> terms = new LinkedHashSet<>();
+
+        String name = SearchText.fold(customer.getFullName());
+        for (int i = 0; i < name.length(); i = name.indexOf(' ', i) + 1) {
+            terms.add(name.substring(i));
+            if (name.indexOf(' ', i) < 0) {
+                break;
+            }
+        }
+
+        terms.add(SearchText.fold(customer.getEmail()));
+
+        String document = customer.getDocumentNumber();
+        if (document != null) {
+            terms.add(SearchText.fold(document));
+            terms.add(SearchText.alphanumeric(document));
+        }
+
+        Set<String> keys = new LinkedHashSet<>();
+        for (String term : terms) {
+            if (!term.isEmpty()) {
+                keys.add(term + KEY_SEPARATOR + customer.getId());
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Cliente registrado: sugerencia a devolver, dueño y claves bajo las que está indexado.
+     */
+    private record Entry(CustomerSuggestion suggestion, Long ownerId, Set<String> keys) {}
+}
@@ -0,0 +1,183 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.dto.response.CustomerSummary;
+import com.oriontek.customermanagement.entity.Customer;
+import com.oriontek.customermanagement.repository.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Búsqueda con el índice FULLTEXT de MySQL (MATCH ... AGAINST en BOOLEAN MODE).
+ *
+ * Cada palabra del término se convierte en un prefijo obligatorio (+palabra*), de modo que
+ * "mar gonz" encuentra "María González". A diferencia de LIKE, solo encuentra coincidencias
+ * al inicio de cada palabra; a cambio usa el índice en lugar de recorrer la tabla.
+ * Las palabras que InnoDB no indexa (más cortas que innodb_ft_min_token_size o stopwords)
+ * se descartan; si no queda ninguna, se recurre a la búsqueda LIKE.
+ *
+ * El índice no se crea desde la aplicación: un ALTER TABLE sobre customers bloquea o
+ * reconstruye la tabla, por lo que debe crearse como migración antes de activar el modo:
+ * {@code ALTER TABLE customers ADD FULLTEXT INDEX ft_customers_search (first_name, last_name, email, document_number)}.
+ * Mientras el índice no exista se usa la búsqueda LIKE; su existencia se comprueba
+ * periódicamente, de modo que el modo se activa sin reiniciar cuando se crea.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.search.mode", havingValue = "fulltext")
+public class FullTextCustomerSearch implements CustomerSearch {
+
+    static final String INDEX_NAME = "ft_customers_search";
+
+    private static final int MIN_TOKEN_SIZE = 3;
+
+    /**
+     * Stopwords por defecto de InnoDB (INFORMATION_SCHEMA.INNODB_FT_DEFAULT_STOPWORD).
+     */
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "about", "an", "are", "as", "at", "be", "by", "com", "de", "en", "for", "from",
+            "how", "i", "in", "is", "it", "la", "of", "on", "or", "that", "the", "this", "to",
+            "was", "what", "when", "where", "who", "will", "with", "und", "www"
+    );
+
+    private final CustomerRepository customerRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean indexAvailable;
+
+    @Override
+    public Page<Customer> searchActive(String searchTerm, Pageable pageable) {
+        String query = fullTextQuery(searchTerm);
+        if (query.isEmpty()) {
+            return customerRepository.searchActiveCustomers(searchTerm, true, pageable);
+        }
+        return customerRepository.fullTextSearchActiveCustomers(query, true, toColumnSort(pageable));
+    }
+
+    @Override
+    public Page<Customer> searchActiveByOwner(String searchTerm, Long ownerId, Pageable pageable) {
+        String query = fullTextQuery(searchTerm);
+        if (query.isEmpty()) {
+            return customerRepository.searchActiveCustomersByOwner(searchTerm, ownerId, true, pageable);
+        }
+        return customerRepository.fullTextSearchActiveCustomersByOwner(query, ownerId, true, toColumnSort(pageable));
+    }
+
+    /**
+     * Obtiene la página de IDs con el índice FULLTEXT y luego los resúmenes de esos IDs,
+     * ya que una query nativa no puede usar la constructor expression de JPQL.
+     */
+    @Override
+    public Page<CustomerSummary> searchActiveSummaries(String searchTerm, Long ownerId, Pageable pageable) {
+        String query = fullTextQuery(searchTerm);
+        if (query.isEmpty()) {
+            return ownerId == null
+                    ? customerRepository.searchActiveSummaries(searchTerm, pageable)
+                    : customerRepository.searchActiveSummariesByOwner(searchTerm, ownerId, pageable);
+        }
+
+        Page<Long> ids = ownerId == null
+                ? customerRepository.fullTextSearchActiveCustomerIds(query, toColumnSort(pageable))
+                : customerRepository.fullTextSearchActiveCustomerIdsByOwner(query, ownerId, toColumnSort(pageable));
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
+        }
+
+        Map<Long, CustomerSummary> summaries = customerRepository.findSummariesByIdIn(ids.getContent()).stream()
+                .collect(Collectors.toMap(CustomerSummary::id, Function.identity(), (first, second) -> first));
+        List<CustomerSummary> content = ids.getContent().stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, pageable, ids.getTotalElements());
+    }
+
+    /**
+     * Comprueba si el índice FULLTEXT ya existe. Hibernate no puede declararlo con @Index.
+     * Una vez encontrado no se vuelve a consultar.
+     */
+    @Scheduled(fixedDelayString = "${app.search.fulltext.index-check-interval:PT5M}")
+    public void checkIndex() {
+        if (indexAvailable) {
+            return;
+        }
+
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                        "WHERE table_schema = DATABASE() AND table_name = 'customers' AND index_name = ?",
+                Integer.class, INDEX_NAME);
+
+        if (existing != null && existing > 0) {
+            indexAvailable = true;
+            log.info("Índice FULLTEXT {} disponible, búsqueda de clientes con MATCH ... AGAINST", INDEX_NAME);
+        } else {
+            log.warn("No existe el índice FULLTEXT {} en customers; se usa la búsqueda LIKE hasta que se cree", INDEX_NAME);
+        }
+    }
+
+    /**
+     * Expresión BOOLEAN MODE del término, o cadena vacía si el índice aún no existe
+     * (en ambos casos vacíos se recurre a la búsqueda LIKE).
+     */
+    private String fullTextQuery(String searchTerm) {
+        return indexAvailable ? toBooleanQuery(searchTerm) : "";
+    }
+
+    /**
+     * Traduce el término de búsqueda a una expresión BOOLEAN MODE.
+     * Los operadores de la sintaxis se tratan como separadores, nunca se pasan a MySQL.
+     *
+     * @param searchTerm Término ingresado por el usuario
+     * @return Expresión "+palabra* +palabra*" o cadena vacía si no queda ninguna palabra indexable
+     */
+    static String toBooleanQuery(String searchTerm) {
+        if (searchTerm == null) {
+            return "";
+        }
+
+        List<String> terms = new ArrayList<>();
+        for (String token : searchTerm.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}_]+")) {
+            if (token.length() >= MIN_TOKEN_SIZE && !STOPWORDS.contains(token)) {
+                terms.add("+" + token + "*");
+            }
+        }
+        return String.join(" ", terms);
+    }
+
+    /**
+     * Convierte el orden por propiedad (createdAt) en orden por columna (created_at),
+     * necesario en queries nativas.
+     */
+    private static Pageable toColumnSort(Pageable pageable) {
+        if (pageable.getSort().isUnsorted()) {
+            return pageable;
+        }
+
+        List<Sort.Order> orders = pageable.getSort().stream()
+                .map(order -> order.withProperty(toColumnName(order.getProperty())))
+                .toList();
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(orders));
+    }
+
+    private static String toColumnName(String property) {
+        return property.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,39 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.dto.response.CustomerSummary;
+import com.oriontek.customermanagement.entity.Customer;
+import com.oriontek.customermanagement.repository.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Búsqueda por subcadena con LIKE '%term%' sobre las cuatro columnas.
+ * Encuentra coincidencias en cualquier posición, pero no puede usar índices.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.search.mode", havingValue = "like", matchIfMissing = true)
+public class LikeCustomerSearch implements CustomerSearch {
+
+    private final CustomerRepository customerRepository;
+
+    @Override
+    public Page<Customer> searchActive(String searchTerm, Pageable pageable) {
+        return customerRepository.searchActiveCustomers(searchTerm, true, pageable);
+    }
+
+    @Override
+    public Page<Customer> searchActiveByOwner(String searchTerm, Long ownerId, Pageable pageable) {
+        return customerRepository.searchActiveCustomersByOwner(searchTerm, ownerId, true, pageable);
+    }
+
+    @Override
+    public Page<CustomerSummary> searchActiveSummaries(String searchTerm, Long ownerId, Pageable pageable) {
+        return ownerId == null
+                ? customerRepository.searchActiveSummaries(searchTerm, pageable)
+                : customerRepository.searchActiveSummariesByOwner(searchTerm, ownerId, pageable);
+    }
+}
@@ -0,0 +1,69 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.dto.response.CustomerSummary;
+import com.oriontek.customermanagement.entity.Customer;
+import com.oriontek.customermanagement.repository.CustomerRepository;
+import com.oriontek.customermanagement.util.SearchText;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Búsqueda por prefijo sobre las columnas normalizadas search_name, search_last_name,
+ * search_email y search_document.
+ *
+ * El término se normaliza con la misma función que las columnas (sin acentos ni mayúsculas),
+ * así que "gonzalez" encuentra "González". Solo encuentra coincidencias al inicio del nombre,
+ * del apellido, del email o del documento; a cambio cada condición usa su índice B-tree.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.search.mode", havingValue = "prefix")
+public class PrefixCustomerSearch implements CustomerSearch {
+
+    private final CustomerRepository customerRepository;
+
+    @Override
+    public Page<Customer> searchActive(String searchTerm, Pageable pageable) {
+        String folded = SearchText.fold(searchTerm);
+        if (folded.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        return customerRepository.searchActiveCustomersByPrefix(
+                SearchText.prefixPattern(folded), documentPattern(searchTerm, folded), pageable);
+    }
+
+    @Override
+    public Page<Customer> searchActiveByOwner(String searchTerm, Long ownerId, Pageable pageable) {
+        String folded = SearchText.fold(searchTerm);
+        if (folded.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        return customerRepository.searchActiveCustomersByOwnerAndPrefix(
+                SearchText.prefixPattern(folded), documentPattern(searchTerm, folded), ownerId, pageable);
+    }
+
+    @Override
+    public Page<CustomerSummary> searchActiveSummaries(String searchTerm, Long ownerId, Pageable pageable) {
+        String folded = SearchText.fold(searchTerm);
+        if (folded.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        String pattern = SearchText.prefixPattern(folded);
+        String documentPattern = documentPattern(searchTerm, folded);
+        return ownerId == null
+                ? customerRepository.searchActiveSummariesByPrefix(pattern, documentPattern, pageable)
+                : customerRepository.searchActiveSummariesByOwnerAndPrefix(pattern, documentPattern, ownerId, pageable);
+    }
+
+    /**
+     * El documento se guarda sin separadores: "001-123" busca "001123%".
+     */
+    private static String documentPattern(String searchTerm, String folded) {
+        String document = SearchText.alphanumeric(searchTerm);
+        return SearchText.prefixPattern(document.isEmpty() ? folded : document);
+    }
+}
@@ -0,0 +1,144 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.entity.RefreshToken;
+import com.oriontek.customermanagement.entity.User;
+import com.oriontek.customermanagement.repository.RefreshTokenRepository;
+import io.jsonwebtoken.io.Encoders;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+/**
+ * Servicio de refresh tokens con rotación.
+ *
+ * Renovar el token de acceso cuesta una búsqueda por índice y una firma HMAC,
+ * en lugar de una verificación BCrypt completa. Cada uso rota el refresh token;
+ * presentar un token ya usado revoca su familia (posible robo del token).
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration refreshExpiration;
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            @Value("${jwt.refresh.expiration:P30D}") Duration refreshExpiration
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshExpiration = refreshExpiration;
+    }
+
+    /**
+     * Emite un refresh token de una nueva familia (login).
+     * @param user Usuario autenticado
+     * @return Refresh token en claro (solo se devuelve al cliente)
+     */
+    @Transactional
+    public String issue(User user) {
+        return issue(user, newRandomToken(16));
+    }
+
+    /**
+     * Rota un refresh token: lo marca como usado y emite uno nuevo de la misma familia.
+     *
+     * @param rawToken Refresh token en claro
+     * @return Token rotado con el usuario y el nuevo refresh token
+     * @throws BadCredentialsException Si el token no existe, expiró, fue revocado o el usuario ya no es válido
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public RotatedToken rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new BadCredentialsException("Refresh token inválido"));
+
+        if (current.getRevoked() || refreshTokenRepository.revokeIfActive(current.getId()) == 0) {
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId());
+            log.warn("Reutilización de refresh token para usuario: {} - {} tokens de la familia revocados",
+                    current.getUser().getEmail(), revoked);
+            throw new BadCredentialsException("Refresh token inválido");
+        }
+
+        User user = current.getUser();
+        if (current.getExpiresAt().isBefore(LocalDateTime.now())
+                || !Boolean.TRUE.equals(user.getActive())
+                || !current.getTokenVersion().equals(user.getTokenVersion())) {
+            throw new BadCredentialsException("Refresh token inválido");
+        }
+
+        String refreshToken = issue(user, current.getFamilyId());
+        log.debug("Refresh token rotado para usuario: {}", user.getEmail());
+        return new RotatedToken(user, refreshToken);
+    }
+
+    /**
+     * Revoca la familia de un refresh token (logout).
+     * @param rawToken Refresh token en claro
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    /**
+     * Elimina de la tabla los refresh tokens que ya expiraron.
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh.purge-interval:PT1H}")
+    @Transactional
+    public void purgeExpiredTokens() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("{} refresh tokens expirados eliminados de la base de datos", deleted);
+        }
+    }
+
+    private String issue(User user, String familyId) {
+        String rawToken = newRandomToken(32);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(rawToken))
+                .familyId(familyId)
+                .user(user)
+                .tokenVersion(user.getTokenVersion() == null ? 0L : user.getTokenVersion())
+                .expiresAt(LocalDateTime.now().plus(refreshExpiration))
+                .build());
+
+        return rawToken;
+    }
+
+    private static String newRandomToken(int bytes) {
+        byte[] buffer = new byte[bytes];
+        RANDOM.nextBytes(buffer);
+        return Encoders.BASE64URL.encode(buffer);
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(rawToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Resultado de una rotación.
+     * @param user Usuario dueño del token
+     * @param refreshToken Nuevo refresh token en claro
+     */
+    public record RotatedToken(User user, String refreshToken) {}
+}
@@ -0,0 +1,125 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.entity.Customer;
+import com.oriontek.customermanagement.entity.User;
+import com.oriontek.customermanagement.repository.CustomerRepository;
+import com.oriontek.customermanagement.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Completa las columnas de búsqueda normalizadas de las filas creadas antes de que existieran.
+ *
+ * Las filas nuevas o modificadas ya las calculan los callbacks @PrePersist/@PreUpdate;
+ * este proceso solo recorre, por lotes y fuera del arranque, las que tienen search_name en NULL.
+ * Las entidades se leen en modo solo lectura y las columnas se escriben con un UPDATE directo,
+ * sin pasar por @PreUpdate: updated_at no cambia, así la consulta de cambios de otros nodos
+ * (CustomerReadModelLoader) no toma el backfill como una modificación.
+ * Cuando ya no quedan filas pendientes se reduce a una consulta vacía por tabla.
+ */
+@Slf4j
+@Component
+public class SearchColumnBackfill {
+
+    private final CustomerRepository customerRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public SearchColumnBackfill(
+            CustomerRepository customerRepository,
+            UserRepository userRepository,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            @Value("${app.search.backfill.enabled:true}") boolean enabled,
+            @Value("${app.search.backfill.batch-size:500}") int batchSize
+    ) {
+        this.customerRepository = customerRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Lanza el backfill al iniciar en el executor de tareas de la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (enabled) {
+            taskExecutor.execute(this::backfill);
+        }
+    }
+
+    /**
+     * Recalcula las columnas de búsqueda de clientes y usuarios que no las tienen.
+     */
+    public void backfill() {
+        long start = System.currentTimeMillis();
+
+        try {
+            int customers = backfillCustomers();
+            int users = backfillUsers();
+
+            if (customers > 0 || users > 0) {
+                log.info("Columnas de búsqueda completadas: {} clientes y {} usuarios en {} ms",
+                        customers, users, System.currentTimeMillis() - start);
+            }
+
+        } catch (Exception e) {
+            log.error("Error al completar las columnas de búsqueda: {}", e.getMessage(), e);
+        }
+    }
+
+    private int backfillCustomers() {
+        int updated = 0;
+        Long lastId = 0L;
+        List<Long> ids;
+        while (!(ids = customerRepository.findIdsWithoutSearchColumnsAfter(lastId, PageRequest.of(0, batchSize))).isEmpty()) {
+            List<Long> batch = ids;
+            transactionTemplate.executeWithoutResult(status ->
+                    customerRepository.findReadOnlyByIdIn(batch).forEach(this::writeSearchColumns));
+            updated += ids.size();
+            lastId = ids.get(ids.size() - 1);
+        }
+        return updated;
+    }
+
+    private int backfillUsers() {
+        int updated = 0;
+        Long lastId = 0L;
+        List<Long> ids;
+        while (!(ids = userRepository.findIdsWithoutSearchColumnsAfter(lastId, PageRequest.of(0, batchSize))).isEmpty()) {
+            List<Long> batch = ids;
+            transactionTemplate.executeWithoutResult(status ->
+                    userRepository.findReadOnlyByIdIn(batch).forEach(this::writeSearchColumns));
+            updated += ids.size();
+            lastId = ids.get(ids.size() - 1);
+        }
+        return updated;
+    }
+
+    private void writeSearchColumns(Customer customer) {
+        customer.updateSearchColumns();
+        customerRepository.updateSearchColumns(customer.getId(), customer.getSearchName(),
+                customer.getSearchLastName(), customer.getSearchEmail(), customer.getSearchDocument());
+    }
+
+    private void writeSearchColumns(User user) {
+        user.updateSearchColumns();
+        userRepository.updateSearchColumns(user.getId(), user.getSearchName(),
+                user.getSearchLastName(), user.getSearchEmail());
+    }
+}
@@ -0,0 +1,150 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.entity.RevokedToken;
+import com.oriontek.customermanagement.repository.RevokedTokenRepository;
+import com.oriontek.customermanagement.security.TokenRevocationList;
+import com.oriontek.customermanagement.security.VerifiedToken;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Servicio de revocación de tokens JWT.
+ *
+ * Las revocaciones se guardan en la tabla revoked_tokens y en una
+ * {@link TokenRevocationList} en memoria, que es la única consultada en cada request.
+ * Los demás nodos se sincronizan consultando la tabla periódicamente.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenRevocationList revocationList;
+    private final Duration pollOverlap;
+
+    private volatile LocalDateTime lastPolledAt = LocalDateTime.now();
+
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.security.revocation.wheel-slots:256}") int wheelSlots,
+            @Value("${app.security.revocation.tick:PT1M}") Duration tick,
+            @Value("${app.security.revocation.expected-size:100000}") int expectedSize,
+            @Value("${app.security.revocation.poll-interval:PT10S}") Duration pollInterval
+    ) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.revocationList = new TokenRevocationList(
+                wheelSlots, tick.toMillis(), expectedSize, 0.01, System.currentTimeMillis());
+        this.pollOverlap = pollInterval;
+
+        Gauge.builder("auth.tokens.revoked", revocationList, TokenRevocationList::size)
+                .description("Tokens revocados vigentes en memoria")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Verifica si un token está revocado. Operación O(1) sin acceso a base de datos.
+     * @param verifiedToken Token verificado
+     * @return true si el token fue revocado
+     */
+    public boolean isRevoked(VerifiedToken verifiedToken) {
+        return revocationList.isRevoked(verifiedToken.tokenId());
+    }
+
+    /**
+     * Revoca un token hasta su expiración.
+     * @param verifiedToken Token verificado a revocar
+     * @return true si el token tenía jti y quedó revocado
+     */
+    @Transactional
+    public boolean revoke(VerifiedToken verifiedToken) {
+        String jti = verifiedToken.tokenId();
+        if (jti == null || verifiedToken.expiration() == null) {
+            log.debug("Token sin jti, no se puede revocar en el servidor");
+            return false;
+        }
+
+        long expiresAtMillis = verifiedToken.expiration().getTime();
+        revocationList.revoke(jti, expiresAtMillis);
+
+        if (!revokedTokenRepository.existsByJti(jti)) {
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .jti(jti)
+                    .expiresAt(toLocalDateTime(expiresAtMillis))
+                    .build());
+        }
+
+        log.info("Token revocado para usuario: {}", verifiedToken.subject());
+        return true;
+    }
+
+    /**
+     * Carga las revocaciones vigentes al iniciar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRevokedTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.findByExpiresAtAfter(now).forEach(this::register);
+        lastPolledAt = now;
+        log.info("Lista de revocación cargada con {} tokens", revocationList.size());
+    }
+
+    /**
+     * Sincroniza las revocaciones hechas en otros nodos.
+     * Se solapa una ventana con la consulta anterior; registrar dos veces es inofensivo.
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation.poll-interval:PT10S}")
+    public void pollRevokedTokens() {
+        LocalDateTime pollStart = LocalDateTime.now();
+        revokedTokenRepository.findByRevokedAtAfterOrderByRevokedAtAsc(lastPolledAt.minus(pollOverlap))
+                .forEach(this::register);
+        lastPolledAt = pollStart;
+    }
+
+    /**
+     * Avanza la rueda de tiempo para liberar los tokens ya expirados.
+     */
+    @Scheduled(fixedRateString = "${app.security.revocation.tick:PT1M}")
+    public void expireRevokedTokens() {
+        int removed = revocationList.advance(System.currentTimeMillis());
+        if (removed > 0) {
+            log.debug("{} tokens revocados expirados eliminados de memoria", removed);
+        }
+    }
+
+    /**
+     * Elimina de la tabla los tokens revocados que ya expiraron.
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation.purge-interval:PT1H}")
+    @Transactional
+    public void purgeExpiredTokens() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("{} tokens revocados expirados eliminados de la base de datos", deleted);
+        }
+    }
+
+    private void register(RevokedToken revokedToken) {
+        long expiresAtMillis = revokedToken.getExpiresAt()
+                .atZone(ZoneId.systemDefault())
+                .toInstant()
+                .toEpochMilli();
+        revocationList.revoke(revokedToken.getJti(), expiresAtMillis);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -2,13 +2,19 @@ package com.oriontek.customermanagement.service;
 
 import com.oriontek.customermanagement.dto.request.CreateUserRequest;
 import com.oriontek.customermanagement.dto.request.UpdateUserRequest;
+import com.oriontek.customermanagement.dto.response.CursorPage;
+import com.oriontek.customermanagement.dto.response.FieldSelection;
 import com.oriontek.customermanagement.dto.response.UserResponse;
 import com.oriontek.customermanagement.entity.User;
 import com.oriontek.customermanagement.enums.Role;
+import com.oriontek.customermanagement.event.UserChangedEvent;
 import com.oriontek.customermanagement.repository.UserRepository;
+import com.oriontek.customermanagement.util.SearchText;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,6 +23,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Servicio para gestión de usuarios.
@@ -29,6 +36,8 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CursorCodec cursorCodec;
 
     /**
      * Crea un nuevo usuario ADMIN.
@@ -67,6 +76,7 @@ public class UserService {
                     .build();
 
             User savedUser = userRepository.save(newUser);
+            publishUserChanged(savedUser, savedUser.getEmail());
 
             log.info("Usuario creado exitosamente: {} con ID: {}",
                     savedUser.getEmail(), savedUser.getId());
@@ -99,6 +109,58 @@ public class UserService {
                 .map(UserResponse::fromEntity);
     }
 
+    /**
+     * Obtiene todos los usuarios con paginación devolviendo solo los campos seleccionados (fields).
+     * Solo SUPERADMIN puede ver todos los usuarios.
+     *
+     * @param fields Campos seleccionados
+     * @param pageable Información de paginación
+     * @return Página de usuarios con los campos seleccionados
+     * @throws IllegalArgumentException Si la selección contiene campos desconocidos
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllUsers(FieldSelection fields, Pageable pageable) {
+        log.debug("Obteniendo todos los usuarios con paginación y campos {}", fields.names());
+
+        UserResponse.FIELDS.validate(fields);
+        User currentUser = getCurrentUser();
+        if (currentUser.getRole() != Role.SUPERADMIN) {
+            throw new SecurityException("Solo SUPERADMIN puede ver todos los usuarios");
+        }
+
+        return userRepository.findAll(pageable)
+                .map(user -> UserResponse.FIELDS.render(user, fields));
+    }
+
+    /**
+     * Obtiene todos los usuarios con paginación por cursor sobre (createdAt, id).
+     * Solo SUPERADMIN puede ver todos los usuarios.
+     *
+     * @param cursor Cursor opaco (vacío para la primera página)
+     * @param size Tamaño de página
+     * @return Página con cursores next/prev
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponse> getAllUsers(String cursor, int size) {
+        log.debug("Obteniendo todos los usuarios con paginación por cursor");
+
+        User currentUser = getCurrentUser();
+        if (currentUser.getRole() != Role.SUPERADMIN) {
+            throw new SecurityException("Solo SUPERADMIN puede ver todos los usuarios");
+        }
+
+        CursorCodec.Cursor position = cursorCodec.decode(cursor, "users");
+        int pageSize = CursorCodec.clampSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<User> rows = position.backward()
+                ? userRepository.findBefore(position.createdAt(), position.id(), limit)
+                : userRepository.findAfter(position.createdAt(), position.id(), limit);
+
+        return cursorCodec.page(rows, pageSize, position, "users",
+                User::getCreatedAt, User::getId, UserResponse::fromEntity);
+    }
+
     /**
      * Obtiene todos los usuarios ADMIN activos.
      *
@@ -174,6 +236,9 @@ public class UserService {
             throw new RuntimeException("No puede desactivar su propia cuenta");
         }
 
+        String previousEmail = userToUpdate.getEmail();
+        Boolean previousActive = userToUpdate.getActive();
+
         try {
             if (request.email() != null) {
                 if (!request.email().equals(userToUpdate.getEmail()) &&
@@ -195,7 +260,13 @@ public class UserService {
                 userToUpdate.setActive(request.active());
             }
 
+            if (!previousEmail.equals(userToUpdate.getEmail()) ||
+                    !previousActive.equals(userToUpdate.getActive())) {
+                userToUpdate.incrementTokenVersion();
+            }
+
             User updatedUser = userRepository.save(userToUpdate);
+            publishUserChanged(updatedUser, previousEmail);
 
             log.info("Usuario actualizado exitosamente: {}", updatedUser.getEmail());
             return UserResponse.fromEntity(updatedUser);
@@ -229,7 +300,9 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado con ID: " + userId));
 
         userToDeactivate.setActive(false);
+        userToDeactivate.incrementTokenVersion();
         userRepository.save(userToDeactivate);
+        publishUserChanged(userToDeactivate, userToDeactivate.getEmail());
 
         log.info("Usuario desactivado exitosamente: {}", userToDeactivate.getEmail());
     }
@@ -253,13 +326,15 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado con ID: " + userId));
 
         userToActivate.setActive(true);
+        userToActivate.incrementTokenVersion();
         userRepository.save(userToActivate);
+        publishUserChanged(userToActivate, userToActivate.getEmail());
 
         log.info("Usuario activado exitosamente: {}", userToActivate.getEmail());
     }
 
     /**
-     * Busca usuarios por término de búsqueda.
+     * Busca usuarios por prefijo de nombre, apellido o email (sin distinción de acentos).
      * Solo SUPERADMIN puede buscar usuarios.
      *
      * @param searchTerm Término de búsqueda
@@ -274,7 +349,12 @@ public class UserService {
             throw new SecurityException("Solo SUPERADMIN puede buscar usuarios");
         }
 
-        return userRepository.findByNameOrEmailContaining(searchTerm)
+        String folded = SearchText.fold(searchTerm);
+        if (folded.isEmpty()) {
+            return List.of();
+        }
+
+        return userRepository.searchByPrefix(SearchText.prefixPattern(folded))
                 .stream()
                 .map(UserResponse::fromEntity)
                 .toList();
@@ -303,6 +383,23 @@ public class UserService {
         return new UserStatistics(totalUsers, activeUsers, superAdmins, admins);
     }
 
+    /**
+     * Publica el cambio de un usuario para refrescar el estado en memoria.
+     * Los listeners lo procesan después del commit de la transacción.
+     *
+     * @param user Usuario modificado
+     * @param previousEmail Email anterior del usuario
+     */
+    private void publishUserChanged(User user, String previousEmail) {
+        eventPublisher.publishEvent(new UserChangedEvent(
+                user.getId(),
+                previousEmail,
+                user.getEmail(),
+                Boolean.TRUE.equals(user.getActive()),
+                user.getTokenVersion()
+        ));
+    }
+
     /**
      * Obtiene el usuario actualmente autenticado.
      *
@@ -0,0 +1,68 @@
+package com.oriontek.customermanagement.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalización de texto para búsqueda.
+ *
+ * Es la misma función para los valores guardados en las columnas de búsqueda
+ * (search_name, search_email, ...) y para los términos recibidos, de modo que la
+ * comparación en la base de datos sea un prefijo binario que puede usar índices B-tree.
+ */
+public final class SearchText {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern NON_ALNUM = Pattern.compile("[^\\p{Alnum}]");
+
+    private SearchText() {
+    }
+
+    /**
+     * Minúsculas, sin acentos y con espacios colapsados ("  José  Martínez" = "jose martinez").
+     * @param text Texto original
+     * @return Texto normalizado (vacío si el texto es null)
+     */
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String folded = DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT).trim();
+        return WHITESPACE.matcher(folded).replaceAll(" ");
+    }
+
+    /**
+     * Solo letras y dígitos en minúsculas ("001-1234567-8" = "00112345678").
+     * @param text Texto original
+     * @return Texto sin separadores (vacío si el texto es null)
+     */
+    public static String alphanumeric(String text) {
+        return text == null ? "" : NON_ALNUM.matcher(fold(text)).replaceAll("");
+    }
+
+    /**
+     * Patrón LIKE de prefijo con los comodines del término escapados (ESCAPE '!').
+     * Se usa '!' como escape porque la barra invertida es especial en los literales de MySQL.
+     * @param folded Término ya normalizado
+     * @return Patrón "term%"
+     */
+    public static String prefixPattern(String folded) {
+        return folded.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+
+    /**
+     * Recorta un valor normalizado al tamaño de su columna.
+     * @param value Valor normalizado
+     * @param maxLength Longitud de la columna
+     * @return Valor recortado, o null si está vacío
+     */
+    public static String column(String value, int maxLength) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
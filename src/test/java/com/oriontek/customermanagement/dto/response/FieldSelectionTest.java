@@ -0,0 +1,65 @@
+package com.oriontek.customermanagement.dto.response;
+
+import com.oriontek.customermanagement.entity.Address;
+import com.oriontek.customermanagement.entity.Customer;
+import com.oriontek.customermanagement.enums.AddressType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FieldSelectionTest {
+
+    @Test
+    void parsesNestedFieldsAndWholeObjects() {
+        FieldSelection selection = FieldSelection.parse(" id, fullName ,addresses.city,createdBy,createdBy.email");
+
+        assertEquals(List.of("id", "fullName", "addresses", "createdBy"), List.copyOf(selection.names()));
+        assertEquals(List.of("city"), List.copyOf(selection.nested("addresses").names()));
+        assertTrue(selection.nested("createdBy").isAll());
+        assertTrue(selection.nested("id").isAll());
+    }
+
+    @Test
+    void rejectsMalformedAndUnknownFields() {
+        assertThrows(IllegalArgumentException.class, () -> FieldSelection.parse(" , "));
+        assertThrows(IllegalArgumentException.class, () -> FieldSelection.parse("addresses..city"));
+        assertThrows(IllegalArgumentException.class, () -> FieldSelection.parse("createdBy.role.name"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> CustomerResponse.FIELDS.validate(FieldSelection.parse("id,password")));
+        assertThrows(IllegalArgumentException.class,
+                () -> CustomerResponse.FIELDS.validate(FieldSelection.parse("email.domain")));
+        assertThrows(IllegalArgumentException.class,
+                () -> CustomerResponse.FIELDS.validate(FieldSelection.parse("addresses.planet")));
+    }
+
+    @Test
+    void rendersOnlySelectedFieldsInSchemaOrder() {
+        Customer customer = Customer.builder()
+                .id(7L)
+                .firstName("María")
+                .lastName("González")
+                .email("maria@correo.do")
+                .build();
+        customer.addAddress(Address.builder()
+                .street("Calle Principal #1")
+                .city("Santiago")
+                .country("República Dominicana")
+                .type(AddressType.HOME)
+                .isPrimary(true)
+                .build());
+
+        Map<String, Object> rendered = CustomerResponse.FIELDS.render(customer,
+                FieldSelection.parse("addresses.city,fullName,id,createdBy.email"));
+
+        assertEquals(List.of("id", "fullName", "addresses", "createdBy"), List.copyOf(rendered.keySet()));
+        assertEquals("María González", rendered.get("fullName"));
+        assertEquals(List.of(Map.of("city", "Santiago")), rendered.get("addresses"));
+        assertEquals(null, rendered.get("createdBy"));
+    }
+}
@@ -0,0 +1,205 @@
+package com.oriontek.customermanagement.repository;
+
+import com.oriontek.customermanagement.dto.response.CustomerResponse;
+import com.oriontek.customermanagement.dto.response.CustomerSummary;
+import com.oriontek.customermanagement.dto.response.FieldSelection;
+import com.oriontek.customermanagement.entity.Address;
+import com.oriontek.customermanagement.entity.Customer;
+import com.oriontek.customermanagement.entity.User;
+import com.oriontek.customermanagement.enums.AddressType;
+import com.oriontek.customermanagement.enums.Role;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Regresión de N+1: una página de clientes convertida con {@link CustomerResponse#fromEntity}
+ * debe costar un número fijo de sentencias (página + conteo + lote de direcciones),
+ * sin importar cuántos clientes, direcciones o creadores distintos tenga.
+ * La vista summary no debe cargar entidades y la selección de campos (fields)
+ * no debe cargar las asociaciones que no se piden.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("jpa-test")
+class CustomerListingQueryCountTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<User> owners = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < 3; i++) {
+            owners.add(entityManager.persist(User.builder()
+                    .email("admin" + i + "@oriontek.com")
+                    .password("{bcrypt}hash")
+                    .firstName("Admin")
+                    .lastName("Número " + i)
+                    .role(Role.ADMIN)
+                    .active(true)
+                    .build()));
+        }
+
+        for (int i = 0; i < 25; i++) {
+            Customer customer = Customer.builder()
+                    .firstName("Cliente")
+                    .lastName("Apellido " + i)
+                    .email("cliente" + i + "@correo.do")
+                    .documentNumber("001-" + i)
+                    .createdBy(owners.get(i % owners.size()))
+                    .active(true)
+                    .build();
+            customer.addAddress(address("Santo Domingo", AddressType.HOME, true));
+            customer.addAddress(address("Santiago", AddressType.WORK, false));
+            entityManager.persist(customer);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void activeCustomersPageUsesConstantStatements() {
+        Pageable page = PageRequest.of(0, PAGE_SIZE, Sort.by("createdAt"));
+
+        List<CustomerResponse> content = customerRepository.findByActiveTrue(page)
+                .map(CustomerResponse::fromEntity)
+                .getContent();
+
+        assertPage(content);
+    }
+
+    @Test
+    void ownerPageUsesConstantStatements() {
+        Pageable page = PageRequest.of(0, 5, Sort.by("createdAt"));
+
+        List<CustomerResponse> content = customerRepository.findByCreatedByAndActive(owners.get(0), true, page)
+                .map(CustomerResponse::fromEntity)
+                .getContent();
+
+        assertEquals(5, content.size());
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "Sentencias ejecutadas: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void searchPageUsesConstantStatements() {
+        Pageable page = PageRequest.of(0, PAGE_SIZE, Sort.by("createdAt"));
+
+        List<CustomerResponse> content = customerRepository.searchActiveCustomers("cliente", true, page)
+                .map(CustomerResponse::fromEntity)
+                .getContent();
+
+        assertPage(content);
+    }
+
+    @Test
+    void cursorPageUsesConstantStatements() {
+        List<CustomerResponse> content = customerRepository
+                .findActiveAfter(LocalDateTime.of(1970, 1, 1, 0, 0), 0L, PageRequest.of(0, PAGE_SIZE))
+                .stream()
+                .map(CustomerResponse::fromEntity)
+                .toList();
+
+        assertEquals(PAGE_SIZE, content.size());
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "Sentencias ejecutadas: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void summaryPageReadsProjectionWithoutEntities() {
+        Pageable page = PageRequest.of(0, PAGE_SIZE, Sort.by("createdAt"));
+
+        List<CustomerSummary> content = customerRepository.findActiveSummariesByOwner(owners.get(0).getId(), page)
+                .getContent();
+
+        assertEquals(9, content.size());
+        assertEquals("Santo Domingo", content.get(0).primaryCity());
+        assertEquals("Cliente Apellido 0", content.get(0).fullName());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "Sentencias ejecutadas: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void fieldSelectionSkipsAssociationsNotRequested() {
+        Pageable page = PageRequest.of(0, PAGE_SIZE, Sort.by("createdAt"));
+        FieldSelection fields = FieldSelection.parse("id,fullName");
+
+        List<Map<String, Object>> content = customerRepository.findActiveWithoutCreator(page)
+                .map(customer -> CustomerResponse.FIELDS.render(customer, fields))
+                .getContent();
+
+        assertEquals(PAGE_SIZE, content.size());
+        assertEquals(List.of("id", "fullName"), List.copyOf(content.get(0).keySet()));
+        assertEquals(PAGE_SIZE, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "Sentencias ejecutadas: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void fieldSelectionLoadsRequestedAddressesInOneBatch() {
+        Pageable page = PageRequest.of(0, PAGE_SIZE, Sort.by("createdAt"));
+        FieldSelection fields = FieldSelection.parse("id,addresses.city");
+
+        List<Map<String, Object>> content = customerRepository.findActiveWithoutCreator(page)
+                .map(customer -> CustomerResponse.FIELDS.render(customer, fields))
+                .getContent();
+
+        assertEquals(List.of(Map.of("city", "Santo Domingo"), Map.of("city", "Santiago")),
+                content.get(0).get("addresses"));
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "Sentencias ejecutadas: " + statistics.getPrepareStatementCount());
+    }
+
+    private void assertPage(List<CustomerResponse> content) {
+        assertEquals(PAGE_SIZE, content.size());
+        assertEquals(2, content.get(0).addresses().size());
+        assertTrue(content.stream().allMatch(customer -> customer.createdBy() != null));
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "Sentencias ejecutadas: " + statistics.getPrepareStatementCount());
+    }
+
+    private static Address address(String city, AddressType type, boolean primary) {
+        return Address.builder()
+                .street("Calle Principal #1")
+                .city(city)
+                .country("República Dominicana")
+                .type(type)
+                .isPrimary(primary)
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.oriontek.customermanagement.security;
+
+import com.oriontek.customermanagement.entity.ApiKey;
+import com.oriontek.customermanagement.entity.User;
+import com.oriontek.customermanagement.event.ApiKeyChangedEvent;
+import com.oriontek.customermanagement.event.UserChangedEvent;
+import com.oriontek.customermanagement.repository.ApiKeyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ApiKeyRegistryTest {
+
+    private final User owner = User.builder().id(1L).email("admin@oriontek.com").active(true).build();
+    private final User other = User.builder().id(2L).email("otro@oriontek.com").active(true).build();
+
+    private ApiKeyRepository repository;
+    private ApiKeyRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ApiKeyRepository.class);
+        registry = new ApiKeyRegistry(repository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void fullReloadDoesNotRestoreKeysOfOwnerDeactivatedMeanwhile() {
+        when(repository.findAllActiveWithOwner()).thenAnswer(invocation -> {
+            registry.onUserChanged(new UserChangedEvent(1L, owner.getEmail(), owner.getEmail(), false, 1L));
+            return List.of(key("ok_owner", owner), key("ok_other", other));
+        });
+
+        registry.reloadAll();
+
+        assertNull(registry.authenticate("ok_owner"));
+        assertEquals(other, registry.authenticate("ok_other"));
+
+        when(repository.findAllActiveWithOwner()).thenReturn(List.of(key("ok_other", other)));
+        registry.reloadAll();
+
+        assertNull(registry.authenticate("ok_owner"));
+        assertEquals(other, registry.authenticate("ok_other"));
+    }
+
+    @Test
+    void ownerReloadReplacesOnlyThatOwnersKeys() {
+        when(repository.findAllActiveWithOwner()).thenReturn(List.of(key("ok_owner", owner), key("ok_other", other)));
+        registry.reloadAll();
+
+        when(repository.findActiveByOwnerIdWithOwner(1L)).thenReturn(List.of(key("ok_owner_new", owner)));
+        registry.onApiKeyChanged(new ApiKeyChangedEvent(1L));
+
+        assertNull(registry.authenticate("ok_owner"));
+        assertEquals(owner, registry.authenticate("ok_owner_new"));
+        assertEquals(other, registry.authenticate("ok_other"));
+    }
+
+    private static ApiKey key(String rawKey, User owner) {
+        return ApiKey.builder()
+                .name(rawKey)
+                .keyHash(ApiKeyRegistry.hash(rawKey))
+                .owner(owner)
+                .active(true)
+                .build();
+    }
+}
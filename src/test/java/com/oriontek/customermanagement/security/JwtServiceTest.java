@@ -0,0 +1,112 @@
+package com.oriontek.customermanagement.security;
+
+import com.oriontek.customermanagement.entity.User;
+import com.oriontek.customermanagement.enums.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtServiceTest {
+
+    /**
+     * Tamaño máximo del header Authorization ("Bearer " + token) en bytes.
+     * Si un cambio en los claims lo supera, este test falla.
+     */
+    private static final int AUTHORIZATION_HEADER_BUDGET = 320;
+
+    private static final String SECRET = "dGVzdC1zZWNyZXQta2V5LWZvci1qd3Qtc2lnbmluZy0yNTYtYml0cy1sb25n";
+
+    @Test
+    void hmacTokenStaysWithinHeaderBudget() {
+        JwtService jwtService = createJwtService("HS256");
+
+        String token = jwtService.generateToken(sampleUser());
+
+        assertWithinBudget(token);
+    }
+
+    @Test
+    void eddsaTokenStaysWithinHeaderBudget() {
+        JwtService jwtService = createJwtService("EdDSA");
+
+        String token = jwtService.generateToken(sampleUser());
+
+        assertWithinBudget(token);
+    }
+
+    @Test
+    void compactClaimsRoundTrip() {
+        JwtService jwtService = createJwtService("HS256");
+        User user = sampleUser();
+
+        VerifiedToken verifiedToken = jwtService.verifyToken(jwtService.generateToken(user));
+        User principal = jwtService.buildPrincipal(verifiedToken);
+
+        assertEquals(user.getEmail(), verifiedToken.subject());
+        assertNotNull(verifiedToken.tokenId());
+        assertEquals("ROLE_ADMIN", verifiedToken.authorities().iterator().next().getAuthority());
+        assertEquals(user.getId(), principal.getId());
+        assertEquals(Role.ADMIN, principal.getRole());
+        assertEquals(user.getTokenVersion(), principal.getTokenVersion());
+        assertTrue(jwtService.isTokenValid(verifiedToken, user));
+    }
+
+    @Test
+    void rejectsMalformedAndTamperedTokensWithoutStackTrace() {
+        JwtService jwtService = createJwtService("HS256");
+        String token = jwtService.generateToken(sampleUser());
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertFalse(jwtService.isValidTokenFormat("not-a-jwt"));
+        assertFalse(jwtService.isValidTokenFormat("a..b"));
+        assertFalse(jwtService.isValidTokenFormat("a.b.c+"));
+        assertTrue(jwtService.isValidTokenFormat(token));
+
+        InvalidJwtException malformed = assertThrows(InvalidJwtException.class, () -> jwtService.verifyToken("a.b"));
+        assertEquals(0, malformed.getStackTrace().length);
+
+        InvalidJwtException first = assertThrows(InvalidJwtException.class, () -> jwtService.verifyToken(tampered));
+        InvalidJwtException repeated = assertThrows(InvalidJwtException.class, () -> jwtService.verifyToken(tampered));
+        assertEquals(0, first.getStackTrace().length);
+        assertNotNull(first.getCause());
+        assertNull(repeated.getCause(), "El segundo rechazo debe salir del cache negativo sin parsear");
+    }
+
+    private static void assertWithinBudget(String token) {
+        int headerSize = ("Bearer " + token).length();
+        assertTrue(headerSize <= AUTHORIZATION_HEADER_BUDGET,
+                "El header Authorization ocupa " + headerSize + " bytes, presupuesto: " + AUTHORIZATION_HEADER_BUDGET);
+    }
+
+    private static JwtService createJwtService(String algorithm) {
+        JwtService jwtService = new JwtService(new VerifiedTokenCache(100, Duration.ofMinutes(1), 100, Duration.ofMinutes(1)));
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtService, "jwtAlgorithm", algorithm);
+        ReflectionTestUtils.setField(jwtService, "eddsaPrivateKey", "");
+        ReflectionTestUtils.setField(jwtService, "eddsaPublicKey", "");
+        jwtService.init();
+        return jwtService;
+    }
+
+    private static User sampleUser() {
+        return User.builder()
+                .id(123456L)
+                .email("maria.gonzalez.administradora@oriontek.com")
+                .password("{bcrypt}hash")
+                .firstName("María")
+                .lastName("González")
+                .role(Role.ADMIN)
+                .active(true)
+                .tokenVersion(3L)
+                .build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.oriontek.customermanagement.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeyedTokenBucketTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    @Test
+    void rejectsAfterCapacityAndRefillsOverTime() {
+        KeyedTokenBucket buckets = new KeyedTokenBucket(1024, 3, 3, 60_000L, clock::get);
+
+        assertTrue(buckets.tryAcquire("10.0.0.1"));
+        assertTrue(buckets.tryAcquire("10.0.0.1"));
+        assertTrue(buckets.tryAcquire("10.0.0.1"));
+        assertFalse(buckets.tryAcquire("10.0.0.1"));
+        assertEquals(1, buckets.exhaustedBuckets());
+
+        clock.addAndGet(20_000L);
+        assertTrue(buckets.tryAcquire("10.0.0.1"));
+        assertFalse(buckets.tryAcquire("10.0.0.1"));
+    }
+
+    @Test
+    void distinctKeysNeverShareBucket() {
+        KeyedTokenBucket buckets = new KeyedTokenBucket(1_000_000, 5, 5, 60_000L, clock::get);
+
+        for (int i = 0; i < 100_000; i++) {
+            String email = "user" + i + "@oriontek.com";
+            for (int attempt = 0; attempt < 5; attempt++) {
+                assertTrue(buckets.tryAcquire(email), email);
+            }
+            assertFalse(buckets.tryAcquire(email), email);
+        }
+
+        for (int attempt = 0; attempt < 5; attempt++) {
+            assertTrue(buckets.tryAcquire("victima@oriontek.com"));
+        }
+    }
+
+    @Test
+    void trackedKeysAreBounded() {
+        KeyedTokenBucket buckets = new KeyedTokenBucket(1000, 5, 5, 60_000L, clock::get);
+
+        for (int i = 0; i < 10_000; i++) {
+            buckets.tryAcquire("user" + i + "@oriontek.com");
+        }
+
+        assertTrue(buckets.trackedKeys() <= 1000, "Claves en memoria: " + buckets.trackedKeys());
+    }
+
+    @Test
+    void idleBucketsExpireFull() {
+        KeyedTokenBucket buckets = new KeyedTokenBucket(1000, 2, 2, 60_000L, clock::get);
+
+        buckets.tryAcquire("10.0.0.1");
+        buckets.tryAcquire("10.0.0.1");
+        assertFalse(buckets.tryAcquire("10.0.0.1"));
+
+        clock.addAndGet(61_000L);
+        assertEquals(0, buckets.trackedKeys());
+        assertTrue(buckets.tryAcquire("10.0.0.1"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.oriontek.customermanagement.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginRateLimiterTest {
+
+    private final LoginRateLimiter limiter = new LoginRateLimiter(
+            new SimpleMeterRegistry(), true, 100_000, Duration.ofMinutes(1), 1_000, 1_000, 5, 5);
+
+    @Test
+    void exhaustedAccountDoesNotThrottleOtherAccounts() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire("10.0.0.1", "victima@oriontek.com"));
+        }
+        assertFalse(limiter.tryAcquire("10.0.0.2", "Victima@OrionTek.com"));
+
+        for (int i = 0; i < 50_000; i++) {
+            limiter.tryAcquire("10.0.0." + (i % 200), "atacante" + i + "@correo.do");
+        }
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire("10.1.0.1", "otra@oriontek.com"));
+        }
+    }
+
+    @Test
+    void forwardedHeaderIsIgnoredUnlessProxyIsTrusted() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("203.0.113.7");
+        request.addHeader("X-Forwarded-For", "1.2.3.4");
+
+        assertEquals("203.0.113.7", new ClientIpResolver("").resolve(request));
+
+        MockHttpServletRequest proxied = new MockHttpServletRequest();
+        proxied.setRemoteAddr("10.0.0.10");
+        proxied.addHeader("X-Forwarded-For", "1.2.3.4, 198.51.100.9, 10.0.0.11");
+
+        assertEquals("198.51.100.9", new ClientIpResolver("10.0.0.10, 10.0.0.11").resolve(proxied));
+    }
+}
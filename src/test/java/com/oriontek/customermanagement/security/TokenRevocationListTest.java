@@ -0,0 +1,93 @@
+package com.oriontek.customermanagement.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rueda de tiempo y filtro de Bloom de la lista de revocación.
+ * El reloj se controla pasando los instantes explícitamente (milisegundos desde T0).
+ */
+class TokenRevocationListTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+    private static final long TICK = 1_000L;
+    private static final int SLOTS = 8;
+
+    private final TokenRevocationList list = new TokenRevocationList(SLOTS, TICK, 100, 0.01, T0);
+
+    @Test
+    void revokedTokenIsReportedUntilItExpires() {
+        list.revoke("jti-1", T0 + 5_500);
+
+        assertTrue(list.isRevoked("jti-1"));
+        assertFalse(list.isRevoked("jti-2"));
+
+        for (long now = T0 + TICK; now <= T0 + 5_000; now += TICK) {
+            list.advance(now);
+            assertTrue(list.isRevoked("jti-1"), "Eliminado antes de expirar en " + (now - T0));
+        }
+
+        assertEquals(1, list.advance(T0 + 6_000));
+        assertFalse(list.isRevoked("jti-1"));
+        assertEquals(0, list.size());
+    }
+
+    @Test
+    void entryBeyondOneWheelTurnSurvivesWrapAround() {
+        long expiresAt = T0 + 3L * SLOTS * TICK + 500;
+        list.revoke("long-lived", expiresAt);
+
+        for (long now = T0 + TICK; now < expiresAt; now += TICK) {
+            list.advance(now);
+            assertTrue(list.isRevoked("long-lived"), "Eliminado antes de expirar en " + (now - T0));
+        }
+
+        list.advance(expiresAt + TICK);
+        assertFalse(list.isRevoked("long-lived"));
+    }
+
+    @Test
+    void advanceAfterGapLongerThanWheelProcessesEverySlot() {
+        list.revoke("a", T0 + 2_500);
+        list.revoke("b", T0 + 6_500);
+        list.revoke("c", T0 + 100_500);
+
+        assertEquals(2, list.advance(T0 + 50_000));
+
+        assertFalse(list.isRevoked("a"));
+        assertFalse(list.isRevoked("b"));
+        assertTrue(list.isRevoked("c"));
+
+        assertEquals(1, list.advance(T0 + 101_000));
+        assertFalse(list.isRevoked("c"));
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegativesAfterRebuild() {
+        List<String> survivors = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            String jti = "vigente-" + i;
+            survivors.add(jti);
+            list.revoke(jti, T0 + 60_000 + i);
+        }
+        for (int i = 0; i < 200; i++) {
+            list.revoke("corto-" + i, T0 + 1_500);
+        }
+
+        assertEquals(200, list.advance(T0 + 2_000));
+
+        survivors.forEach(jti -> assertTrue(list.isRevoked(jti), "Falso negativo para " + jti));
+        for (int i = 0; i < 200; i++) {
+            assertFalse(list.isRevoked("corto-" + i));
+        }
+
+        list.revoke("nuevo", T0 + 60_000);
+        assertTrue(list.isRevoked("nuevo"));
+    }
+}
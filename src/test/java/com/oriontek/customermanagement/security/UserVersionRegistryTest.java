@@ -0,0 +1,60 @@
+package com.oriontek.customermanagement.security;
+
+import com.oriontek.customermanagement.entity.User;
+import com.oriontek.customermanagement.event.UserChangedEvent;
+import com.oriontek.customermanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserVersionRegistryTest {
+
+    private UserRepository repository;
+    private UserVersionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(UserRepository.class);
+        registry = new UserVersionRegistry(repository);
+        ReflectionTestUtils.setField(registry, "absentTtl", Duration.ofMinutes(1));
+    }
+
+    @Test
+    void unknownUserIsRememberedUntilTtlExpires() {
+        when(repository.findById(7L)).thenReturn(Optional.empty());
+
+        assertFalse(registry.isCurrent(7L, 0L));
+        assertFalse(registry.isCurrent(7L, 0L));
+        verify(repository, times(1)).findById(7L);
+
+        ReflectionTestUtils.setField(registry, "absentTtl", Duration.ZERO);
+        when(repository.findById(9L)).thenReturn(Optional.empty());
+
+        assertFalse(registry.isCurrent(9L, 0L));
+        assertFalse(registry.isCurrent(9L, 0L));
+        verify(repository, times(2)).findById(9L);
+    }
+
+    @Test
+    void eventDuringLookupWinsOverLoadedVersion() {
+        User stale = User.builder().id(1L).email("admin@oriontek.com").active(true).tokenVersion(0L).build();
+        when(repository.findById(1L)).thenAnswer(invocation -> {
+            registry.onUserChanged(new UserChangedEvent(1L, stale.getEmail(), stale.getEmail(), true, 1L));
+            return Optional.of(stale);
+        });
+
+        assertTrue(registry.isCurrent(1L, 1L));
+        assertFalse(registry.isCurrent(1L, 0L));
+        verify(repository, times(1)).findById(1L);
+    }
+}
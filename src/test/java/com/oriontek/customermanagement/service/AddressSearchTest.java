@@ -0,0 +1,196 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.dto.request.AddressSearchRequest;
+import com.oriontek.customermanagement.dto.response.AddressSearchResult;
+import com.oriontek.customermanagement.entity.Address;
+import com.oriontek.customermanagement.entity.Customer;
+import com.oriontek.customermanagement.entity.User;
+import com.oriontek.customermanagement.enums.AddressType;
+import com.oriontek.customermanagement.enums.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Búsqueda de direcciones sobre H2: alcance por rol, coincidencia exacta o por prefijo
+ * (con % y _ como literales) y exclusión de direcciones o clientes inactivos.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("jpa-test")
+@Import(AddressService.class)
+class AddressSearchTest {
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User superAdmin;
+    private User admin;
+    private User otherAdmin;
+
+    @BeforeEach
+    void seed() {
+        superAdmin = user("superadmin@oriontek.com", Role.SUPERADMIN);
+        admin = user("admin@oriontek.com", Role.ADMIN);
+        otherAdmin = user("ventas@oriontek.com", Role.ADMIN);
+
+        Customer own = customer("propio@correo.do", admin, true);
+        own.addAddress(address("Santo Domingo", true));
+        own.addAddress(address("Santiago", true));
+        own.addAddress(address("100% Norte", true));
+        own.addAddress(address("1000 Norte", true));
+        own.addAddress(address("San_Juan", true));
+        own.addAddress(address("San Juan", true));
+        own.addAddress(address("Santo Domingo Este", false));
+        entityManager.persist(own);
+
+        Customer inactive = customer("inactivo@correo.do", admin, false);
+        inactive.addAddress(address("Santo Domingo", true));
+        entityManager.persist(inactive);
+
+        Customer other = customer("otro@correo.do", otherAdmin, true);
+        other.addAddress(address("Santo Domingo", true));
+        entityManager.persist(other);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void adminScopeIsForcedToCaller() {
+        authenticate(admin);
+
+        List<AddressSearchResult> results = search(new AddressSearchRequest(
+                "Santo Domingo", null, null, null, null, null, false));
+
+        assertEquals(1, results.size());
+        assertEquals(customerIdOf("propio@correo.do"), results.get(0).customerId());
+    }
+
+    @Test
+    void adminCannotSearchAnotherOwner() {
+        authenticate(admin);
+
+        assertThrows(SecurityException.class, () -> search(new AddressSearchRequest(
+                "Santo Domingo", null, null, null, null, otherAdmin.getId(), false)));
+    }
+
+    @Test
+    void superAdminSearchesAllOwnersOrTheRequestedOne() {
+        authenticate(superAdmin);
+
+        assertEquals(2, search(new AddressSearchRequest(
+                "Santo Domingo", null, null, null, null, null, false)).size());
+        assertEquals(1, search(new AddressSearchRequest(
+                "Santo Domingo", null, null, null, null, otherAdmin.getId(), false)).size());
+    }
+
+    @Test
+    void exactMatchDiffersFromPrefixMatch() {
+        authenticate(admin);
+
+        assertEquals(List.of(), cities(new AddressSearchRequest(
+                "Sant", null, null, null, null, null, false)));
+        assertEquals(List.of("Santiago", "Santo Domingo"), cities(new AddressSearchRequest(
+                "Sant", null, null, null, null, null, true)));
+    }
+
+    @Test
+    void prefixTreatsWildcardsAsLiterals() {
+        authenticate(admin);
+
+        assertEquals(List.of("100% Norte"), cities(new AddressSearchRequest(
+                "100%", null, null, null, null, null, true)));
+        assertEquals(List.of("San_Juan"), cities(new AddressSearchRequest(
+                "San_", null, null, null, null, null, true)));
+    }
+
+    @Test
+    void inactiveAddressesAndCustomersAreExcluded() {
+        authenticate(superAdmin);
+
+        List<AddressSearchResult> results = search(new AddressSearchRequest(
+                "Santo Domingo", null, null, null, null, admin.getId(), true));
+
+        assertEquals(1, results.size());
+        assertEquals("Santo Domingo", results.get(0).address().city());
+        assertEquals(customerIdOf("propio@correo.do"), results.get(0).customerId());
+    }
+
+    private List<AddressSearchResult> search(AddressSearchRequest request) {
+        return addressService.searchAddresses(request, PageRequest.of(0, 20)).getContent();
+    }
+
+    private List<String> cities(AddressSearchRequest request) {
+        return search(request).stream()
+                .map(result -> result.address().city())
+                .sorted()
+                .toList();
+    }
+
+    private Long customerIdOf(String email) {
+        return entityManager.getEntityManager()
+                .createQuery("SELECT c.id FROM Customer c WHERE c.email = :email", Long.class)
+                .setParameter("email", email)
+                .getSingleResult();
+    }
+
+    private static void authenticate(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private User user(String email, Role role) {
+        return entityManager.persist(User.builder()
+                .email(email)
+                .password("{bcrypt}hash")
+                .firstName("Admin")
+                .lastName("OrionTek")
+                .role(role)
+                .active(true)
+                .build());
+    }
+
+    private static Customer customer(String email, User owner, boolean active) {
+        return Customer.builder()
+                .firstName("Cliente")
+                .lastName("Prueba")
+                .email(email)
+                .createdBy(owner)
+                .active(active)
+                .build();
+    }
+
+    private static Address address(String city, boolean active) {
+        return Address.builder()
+                .street("Calle Principal #1")
+                .city(city)
+                .country("República Dominicana")
+                .type(AddressType.HOME)
+                .isPrimary(false)
+                .active(active)
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.dto.response.CursorPage;
+import io.jsonwebtoken.io.Decoders;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CursorCodecTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 15, 10, 30, 0, 123_456_000);
+
+    private static final String JWT_SECRET = "dGVzdC1zZWNyZXQta2V5LWZvci1qd3Qtc2lnbmluZy0yNTYtYml0cy1sb25n";
+
+    private final CursorCodec codec = new CursorCodec("", JWT_SECRET);
+
+    private record Row(LocalDateTime createdAt, Long id) {}
+
+    @Test
+    void roundTripsPositionAndDirection() {
+        String token = codec.encode(new CursorCodec.Cursor(T0, 42L, true), "customers");
+
+        CursorCodec.Cursor cursor = codec.decode(token, "customers");
+
+        assertEquals(T0, cursor.createdAt());
+        assertEquals(42L, cursor.id());
+        assertTrue(cursor.backward());
+    }
+
+    @Test
+    void rejectsTamperedOrForeignScopeCursor() {
+        String token = codec.encode(new CursorCodec.Cursor(T0, 42L, false), "customers:7");
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(token, "customers:8"));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode("x" + token, "customers:7"));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode("garbage", "customers:7"));
+    }
+
+    @Test
+    void derivedKeyIsNotTheJwtKey() {
+        byte[] key = codec.key.getEncoded();
+
+        assertFalse(Arrays.equals(Decoders.BASE64.decode(JWT_SECRET), key));
+        assertFalse(Arrays.equals(JWT_SECRET.getBytes(StandardCharsets.UTF_8), key));
+
+        // Otro nodo con el mismo jwt.secret deriva la misma clave
+        String token = codec.encode(new CursorCodec.Cursor(T0, 42L, false), "customers");
+        assertEquals(42L, new CursorCodec("", JWT_SECRET).decode(token, "customers").id());
+        // Un cursor firmado directamente con jwt.secret no es válido
+        String signedWithJwtSecret = new CursorCodec(JWT_SECRET, JWT_SECRET)
+                .encode(new CursorCodec.Cursor(T0, 42L, false), "customers");
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(signedWithJwtSecret, "customers"));
+    }
+
+    @Test
+    void explicitSecretIsUsedAsIs() {
+        CursorCodec explicit = new CursorCodec("cursor-test-secret", JWT_SECRET);
+
+        assertArrayEquals("cursor-test-secret".getBytes(StandardCharsets.UTF_8), explicit.key.getEncoded());
+    }
+
+    @Test
+    void buildsNextAndPrevCursors() {
+        List<Row> rows = List.of(new Row(T0, 1L), new Row(T0, 2L), new Row(T0.plusSeconds(1), 3L));
+
+        CursorPage<Long> first = codec.page(rows, 2, codec.decode("", "users"), "users",
+                Row::createdAt, Row::id, Row::id);
+
+        assertEquals(List.of(1L, 2L), first.content());
+        assertNull(first.prev());
+        assertNotNull(first.next());
+
+        CursorCodec.Cursor next = codec.decode(first.next(), "users");
+        assertFalse(next.backward());
+        assertEquals(2L, next.id());
+
+        // Página anterior: la consulta devuelve filas en orden descendente
+        List<Row> descending = List.of(new Row(T0, 2L), new Row(T0, 1L));
+        CursorPage<Long> previous = codec.page(descending, 2, new CursorCodec.Cursor(T0.plusSeconds(1), 3L, true),
+                "users", Row::createdAt, Row::id, Row::id);
+
+        assertEquals(List.of(1L, 2L), previous.content());
+        assertNull(previous.prev());
+        assertNotNull(previous.next());
+    }
+}
@@ -0,0 +1,58 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.entity.User;
+import com.oriontek.customermanagement.enums.Role;
+import com.oriontek.customermanagement.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomUserDetailsServiceTest {
+
+    private UserRepository repository;
+    private CustomUserDetailsService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(UserRepository.class);
+        service = new CustomUserDetailsService(repository, mock(ApplicationEventPublisher.class),
+                new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void cachedUserIsNotAffectedByChangesToAPreviousPrincipal() {
+        User stored = User.builder()
+                .id(1L)
+                .email("admin@oriontek.com")
+                .password("hash")
+                .firstName("Ana")
+                .lastName("Pérez")
+                .role(Role.ADMIN)
+                .build();
+        when(repository.findByEmailAndActive("admin@oriontek.com", true)).thenReturn(Optional.of(stored));
+
+        User first = (User) service.loadUserByUsername("admin@oriontek.com");
+        first.setRole(Role.SUPERADMIN);
+        first.setPassword("otro");
+        stored.setActive(false);
+
+        User second = (User) service.loadUserByUsername("admin@oriontek.com");
+
+        assertNotSame(first, second);
+        assertEquals(Role.ADMIN, second.getRole());
+        assertEquals("hash", second.getPassword());
+        assertEquals(true, second.getActive());
+        verify(repository, times(1)).findByEmailAndActive("admin@oriontek.com", true);
+    }
+}
@@ -0,0 +1,86 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.dto.response.CustomerFacets;
+import com.oriontek.customermanagement.entity.Address;
+import com.oriontek.customermanagement.entity.Customer;
+import com.oriontek.customermanagement.entity.User;
+import com.oriontek.customermanagement.enums.AddressType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomerFacetCounterTest {
+
+    private CustomerFacetCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        User owner1 = User.builder().id(1L).build();
+        User owner2 = User.builder().id(2L).build();
+
+        counter = new CustomerFacetCounter();
+        counter.put(customer(10L, owner1,
+                address("Santiago", "República Dominicana", AddressType.HOME),
+                address("Santiago", "República Dominicana", AddressType.WORK)));
+        counter.put(customer(11L, owner1,
+                address("Santo Domingo", "República Dominicana", AddressType.HOME)));
+        counter.put(customer(12L, owner2,
+                address("Miami", "Estados Unidos", AddressType.BILLING)));
+    }
+
+    @Test
+    void countsEachCustomerOncePerDistinctValue() {
+        CustomerFacets facets = counter.facets(null, 10);
+
+        assertEquals(3, facets.totalCustomers());
+        assertEquals(List.of(
+                new CustomerFacets.FacetCount("República Dominicana", 2),
+                new CustomerFacets.FacetCount("Estados Unidos", 1)), facets.countries());
+        assertEquals(new CustomerFacets.FacetCount("HOME", 2), facets.types().get(0));
+        assertEquals(3, facets.cities().size());
+    }
+
+    @Test
+    void scopesByOwnerAndUpdatesIncrementally() {
+        assertEquals(2, counter.facets(1L, 10).totalCustomers());
+        assertEquals(1, counter.facets(2L, 10).totalCustomers());
+
+        counter.remove(10L);
+
+        CustomerFacets owner1 = counter.facets(1L, 10);
+        assertEquals(1, owner1.totalCustomers());
+        assertEquals(List.of(new CustomerFacets.FacetCount("Santo Domingo", 1)), owner1.cities());
+        assertEquals(List.of(new CustomerFacets.FacetCount("HOME", 1)), owner1.types());
+        assertEquals(2, counter.facets(null, 10).totalCustomers());
+        assertEquals(1, counter.facets(null, 1).cities().size());
+    }
+
+    @Test
+    void groupsCitiesIgnoringCaseAndAccentsKeepingFirstSpelling() {
+        counter.put(customer(13L, User.builder().id(2L).build(),
+                address("santo domingo", "republica dominicana", AddressType.HOME)));
+
+        CustomerFacets facets = counter.facets(null, 10);
+
+        assertEquals(new CustomerFacets.FacetCount("República Dominicana", 3), facets.countries().get(0));
+        assertEquals(3, facets.cities().size());
+        assertTrue(facets.cities().contains(new CustomerFacets.FacetCount("Santo Domingo", 2)));
+        assertTrue(counter.facets(2L, 10).cities().contains(new CustomerFacets.FacetCount("santo domingo", 1)));
+    }
+
+    private static Customer customer(Long id, User owner, Address... addresses) {
+        Customer customer = Customer.builder().id(id).createdBy(owner).active(true).build();
+        for (Address address : addresses) {
+            customer.addAddress(address);
+        }
+        return customer;
+    }
+
+    private static Address address(String city, String country, AddressType type) {
+        return Address.builder().street("Calle 1").city(city).country(country).type(type).build();
+    }
+}
@@ -0,0 +1,164 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.dto.response.CustomerResponse;
+import com.oriontek.customermanagement.entity.Address;
+import com.oriontek.customermanagement.entity.Customer;
+import com.oriontek.customermanagement.entity.User;
+import com.oriontek.customermanagement.enums.AddressType;
+import com.oriontek.customermanagement.event.CustomerChangedEvent;
+import com.oriontek.customermanagement.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomerReadModelLoaderTest {
+
+    private final User owner = User.builder().id(1L).build();
+
+    private CustomerRepository repository;
+    private CustomerFacetCounter facets;
+    private CustomerSuggestIndex suggestions;
+    private CustomerSearchCache searchCache;
+    private CustomerReadModelLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(CustomerRepository.class);
+        facets = new CustomerFacetCounter();
+        suggestions = new CustomerSuggestIndex();
+        searchCache = new CustomerSearchCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+        loader = new CustomerReadModelLoader(repository, List.of(facets, suggestions), searchCache,
+                new SyncTaskExecutor(), 500, Duration.ofSeconds(30));
+    }
+
+    @Test
+    void customerDeactivatedDuringLoadIsNotWrittenBack() {
+        List<Customer> staleBatch = List.of(customer(10L, "María"), customer(11L, "Mario"));
+        when(repository.findActiveIdsAfter(eq(0L), any())).thenReturn(List.of(10L, 11L));
+        when(repository.findActiveIdsAfter(eq(11L), any())).thenReturn(List.of());
+        when(repository.findWithAddressesByIdIn(anyCollection())).thenAnswer(invocation -> {
+            loader.onCustomerChanged(new CustomerChangedEvent(10L, 1L, false));
+            return staleBatch;
+        });
+
+        loader.loadOnStartup();
+
+        assertEquals(1, facets.facets(null, 10).totalCustomers());
+        assertEquals(List.of(11L), suggestions.suggest("mar", null, 10).stream().map(s -> s.id()).toList());
+    }
+
+    @Test
+    void suggestionsKeepCustomerActivatedDuringLoad() {
+        when(repository.findActiveIdsAfter(eq(0L), any())).thenReturn(List.of(11L));
+        when(repository.findActiveIdsAfter(eq(11L), any())).thenReturn(List.of());
+        when(repository.findWithAddressesByIdIn(List.of(10L))).thenReturn(List.of(customer(10L, "María")));
+        when(repository.findWithAddressesByIdIn(List.of(11L))).thenAnswer(invocation -> {
+            loader.onCustomerChanged(new CustomerChangedEvent(10L, 1L, true));
+            loader.onCustomerChanged(new CustomerChangedEvent(11L, 1L, false));
+            return List.of(customer(11L, "Mario"));
+        });
+
+        loader.load();
+
+        assertEquals(List.of(10L), suggestions.suggest("mar", null, 10).stream().map(s -> s.id()).toList());
+        assertEquals(1, facets.facets(1L, 10).totalCustomers());
+    }
+
+    @Test
+    void eachChangeIsReadOnceForAllReadModels() {
+        when(repository.findWithAddressesByIdIn(List.of(10L))).thenReturn(List.of(customer(10L, "María")));
+
+        loader.onCustomerChanged(new CustomerChangedEvent(10L, 1L, true));
+
+        verify(repository, times(1)).findWithAddressesByIdIn(anyCollection());
+        assertEquals(1, facets.facets(1L, 10).totalCustomers());
+        assertEquals(1, suggestions.size());
+
+        loader.onCustomerChanged(new CustomerChangedEvent(10L, 1L, false));
+
+        verify(repository, times(1)).findWithAddressesByIdIn(anyCollection());
+        assertEquals(0, facets.facets(null, 10).totalCustomers());
+        assertTrue(suggestions.suggest("mar", null, 10).isEmpty());
+    }
+
+    @Test
+    void pollAppliesChangesMadeOnOtherNodesAfterLoad() {
+        when(repository.findActiveIdsAfter(eq(0L), any())).thenReturn(List.of());
+        when(repository.findIdsUpdatedAfter(any())).thenReturn(List.of(10L));
+        when(repository.findWithAddressesByIdIn(List.of(10L))).thenReturn(List.of(customer(10L, "María")));
+
+        loader.pollChanges();
+        assertEquals(0, suggestions.size());
+
+        loader.load();
+        loader.pollChanges();
+        assertEquals(1, suggestions.size());
+
+        Customer deactivated = customer(10L, "María");
+        deactivated.setActive(false);
+        when(repository.findWithAddressesByIdIn(List.of(10L))).thenReturn(List.of(deactivated));
+
+        loader.pollChanges();
+        assertEquals(0, suggestions.size());
+    }
+
+    @Test
+    void pollInvalidatesCachedSearchesOfTheChangedCustomersOwner() {
+        when(repository.findActiveIdsAfter(eq(0L), any())).thenReturn(List.of());
+        loader.load();
+
+        Pageable page = PageRequest.of(0, 20);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<Page<CustomerResponse>> search = () -> {
+            loads.incrementAndGet();
+            return Page.empty(page);
+        };
+        searchCache.get("maria", 1L, page, search);
+        searchCache.get("maria", 2L, page, search);
+        searchCache.get("maria", null, page, search);
+
+        Customer deactivated = customer(10L, "María");
+        deactivated.setActive(false);
+        when(repository.findIdsUpdatedAfter(any())).thenReturn(List.of(10L));
+        when(repository.findWithAddressesByIdIn(List.of(10L))).thenReturn(List.of(deactivated));
+        loader.pollChanges();
+
+        searchCache.get("maria", 1L, page, search);
+        searchCache.get("maria", 2L, page, search);
+        searchCache.get("maria", null, page, search);
+        assertEquals(5, loads.get());
+    }
+
+    private Customer customer(Long id, String firstName) {
+        Customer customer = Customer.builder()
+                .id(id)
+                .firstName(firstName)
+                .lastName("González")
+                .email(firstName.toLowerCase() + id + "@correo.do")
+                .createdBy(owner)
+                .active(true)
+                .build();
+        customer.addAddress(Address.builder().street("Calle 1").city("Santiago").country("República Dominicana")
+                .type(AddressType.HOME).active(true).build());
+        return customer;
+    }
+}
@@ -0,0 +1,123 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.dto.response.CustomerResponse;
+import com.oriontek.customermanagement.event.CustomerChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CustomerSearchCacheTest {
+
+    private final Pageable firstPage = PageRequest.of(0, 20);
+    private final CustomerSearchCache cache =
+            new CustomerSearchCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+
+    @Test
+    void invalidatesOwnerAndGlobalScopesOnCustomerChange() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<Page<CustomerResponse>> loader = () -> {
+            loads.incrementAndGet();
+            return Page.empty(firstPage);
+        };
+
+        cache.get("maria", 1L, firstPage, loader);
+        cache.get("maria", 2L, firstPage, loader);
+        cache.get("maria", null, firstPage, loader);
+        cache.get(CustomerSearchCache.normalize("  MARIA "), 1L, firstPage, loader);
+        assertEquals(3, loads.get());
+
+        cache.onCustomerChanged(new CustomerChangedEvent(10L, 1L, false));
+
+        cache.get("maria", 1L, firstPage, loader);
+        cache.get("maria", 2L, firstPage, loader);
+        cache.get("maria", null, firstPage, loader);
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void remoteChangeInvalidatesOwnerOrEveryScopeWhenOwnerIsUnknown() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<Page<CustomerResponse>> loader = () -> {
+            loads.incrementAndGet();
+            return Page.empty(firstPage);
+        };
+
+        cache.get("maria", 1L, firstPage, loader);
+        cache.get("maria", 2L, firstPage, loader);
+        cache.get("maria", null, firstPage, loader);
+
+        cache.invalidate(2L);
+        cache.get("maria", 1L, firstPage, loader);
+        cache.get("maria", 2L, firstPage, loader);
+        cache.get("maria", null, firstPage, loader);
+        assertEquals(5, loads.get());
+
+        cache.invalidate(null);
+        cache.get("maria", 1L, firstPage, loader);
+        cache.get("maria", 2L, firstPage, loader);
+        cache.get("maria", null, firstPage, loader);
+        assertEquals(8, loads.get());
+    }
+
+    @Test
+    void concurrentIdenticalSearchesShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<Page<CustomerResponse>> slowLoader = () -> {
+            loads.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Page.empty(firstPage);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<?>[] futures = new Future<?>[8];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = executor.submit(() -> cache.get("gonzalez", null, firstPage, slowLoader));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<Page<CustomerResponse>> failingLoader = () -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException("Base de datos no disponible");
+        };
+
+        assertThrows(IllegalStateException.class, () -> cache.get("perez", null, firstPage, failingLoader));
+        assertEquals(firstPage, cache.get("perez", null, firstPage, () -> {
+            loads.incrementAndGet();
+            return Page.empty(firstPage);
+        }).getPageable());
+        assertEquals(2, loads.get());
+    }
+}
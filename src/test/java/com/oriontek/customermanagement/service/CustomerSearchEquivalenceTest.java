@@ -0,0 +1,155 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.entity.Customer;
+import com.oriontek.customermanagement.entity.User;
+import com.oriontek.customermanagement.enums.Role;
+import com.oriontek.customermanagement.repository.CustomerRepository;
+import com.oriontek.customermanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifica que la búsqueda FULLTEXT devuelve los mismos clientes que la búsqueda LIKE
+ * sobre un conjunto de datos conocido, para términos que son prefijos de palabra.
+ * Requiere Docker; sin Docker el test se omite.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("search-test")
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CustomerSearchEquivalenceTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private CustomerSearch likeSearch;
+    private CustomerSearch fullTextSearch;
+    private Long ownerId;
+
+    @BeforeEach
+    void seed() {
+        likeSearch = new LikeCustomerSearch(customerRepository);
+        FullTextCustomerSearch fullText = new FullTextCustomerSearch(customerRepository, jdbcTemplate);
+        createFullTextIndex();
+        fullText.checkIndex();
+        fullTextSearch = fullText;
+
+        customerRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User admin = userRepository.save(User.builder()
+                .email("admin@oriontek.com")
+                .password("{bcrypt}hash")
+                .firstName("Admin")
+                .lastName("OrionTek")
+                .role(Role.ADMIN)
+                .build());
+        User otherAdmin = userRepository.save(User.builder()
+                .email("ventas@oriontek.com")
+                .password("{bcrypt}hash")
+                .firstName("Ventas")
+                .lastName("OrionTek")
+                .role(Role.ADMIN)
+                .build());
+        ownerId = admin.getId();
+
+        customerRepository.saveAll(List.of(
+                customer("Mariana", "Gonzalo", "mariana.gonzalo@correo.do", "001-5555555-5", true, otherAdmin),
+                customer("María", "González", "maria.gonzalez@correo.do", "001-1234567-8", true, admin),
+                customer("Mario", "Pérez", "mario.perez@correo.do", "001-7654321-0", true, admin),
+                customer("José", "Martínez", "jose.martinez@empresa.do", "402-1111111-1", true, admin),
+                customer("Ana", "Rodríguez", "ana.rodriguez@empresa.do", "402-2222222-2", false, admin),
+                customer("Luis", "Gonzaga", "luis.gonzaga@correo.do", "031-3333333-3", true, admin)
+        ));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"mar", "gonz", "empresa", "correo", "1234567", "perez", "rodriguez"})
+    void fullTextMatchesLikeForWordPrefixes(String term) {
+        Pageable pageable = PageRequest.of(0, 50, Sort.by("id"));
+
+        List<Long> expected = ids(likeSearch, term, pageable);
+        List<Long> actual = ids(fullTextSearch, term, pageable);
+
+        assertEquals(expected, actual, "Resultados distintos para el término: " + term);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"mar", "gonz", "correo"})
+    void ownerScopedFullTextMatchesLike(String term) {
+        Pageable pageable = PageRequest.of(0, 50, Sort.by("id"));
+
+        List<Long> expected = likeSearch.searchActiveByOwner(term, ownerId, pageable).map(Customer::getId).getContent();
+        List<Long> actual = fullTextSearch.searchActiveByOwner(term, ownerId, pageable).map(Customer::getId).getContent();
+
+        assertEquals(expected, actual, "Resultados distintos para el término: " + term);
+    }
+
+    private static List<Long> ids(CustomerSearch search, String term, Pageable pageable) {
+        return search.searchActive(term, pageable).map(Customer::getId).getContent();
+    }
+
+    /**
+     * Crea el índice FULLTEXT como lo haría la migración.
+     */
+    private void createFullTextIndex() {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                        "WHERE table_schema = DATABASE() AND table_name = 'customers' AND index_name = ?",
+                Integer.class, FullTextCustomerSearch.INDEX_NAME);
+        if (existing == null || existing == 0) {
+            jdbcTemplate.execute("ALTER TABLE customers ADD FULLTEXT INDEX " + FullTextCustomerSearch.INDEX_NAME +
+                    " (first_name, last_name, email, document_number)");
+        }
+    }
+
+    private static Customer customer(String firstName, String lastName, String email,
+                                     String documentNumber, boolean active, User createdBy) {
+        return Customer.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .documentNumber(documentNumber)
+                .documentType("CEDULA")
+                .active(active)
+                .createdBy(createdBy)
+                .build();
+    }
+}
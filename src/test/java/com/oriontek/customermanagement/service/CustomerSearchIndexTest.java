@@ -0,0 +1,89 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.entity.Address;
+import com.oriontek.customermanagement.entity.Customer;
+import com.oriontek.customermanagement.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CustomerSearchIndexTest {
+
+    private final Pageable firstPage = PageRequest.of(0, 10);
+
+    private CustomerSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        User owner1 = User.builder().id(1L).build();
+        User owner2 = User.builder().id(2L).build();
+
+        List<Customer> customers = List.of(
+                customer(10L, "María", "González", "maria.gonzalez@correo.do", "001-1234567-8", owner1, "Santiago"),
+                customer(11L, "Mario", "Gómez", "mario.gomez@correo.do", "001-7654321-0", owner1, "Santo Domingo"),
+                customer(12L, "Luis", "Gonzaga", "luis.gonzaga@empresa.do", "031-3333333-3", owner2, "La Romana")
+        );
+
+        index = new CustomerSearchIndex();
+        customers.forEach(index::put);
+        index.flush();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    void ranksExactMatchesFirstAndToleratesTypos() {
+        assertEquals(List.of(10L), index.search("gonzales maria", null, firstPage).getContent());
+        assertEquals(10L, index.search("gonzalez", null, firstPage).getContent().get(0));
+    }
+
+    @Test
+    void matchesAccentInsensitivePrefixesAcrossAddressAndDocument() {
+        assertEquals(List.of(11L), index.search("santo dom", null, firstPage).getContent());
+        assertEquals(List.of(10L), index.search("00112345678", null, firstPage).getContent());
+        assertEquals(List.of(10L), index.search("GONZÁLEZ", null, firstPage).getContent());
+    }
+
+    @Test
+    void filtersByOwner() {
+        assertEquals(List.of(12L), index.search("gonzaga", 2L, firstPage).getContent());
+        assertEquals(List.of(), index.search("gonzaga", 1L, firstPage).getContent());
+        assertEquals(2, index.search("correo", 1L, firstPage).getTotalElements());
+    }
+
+    @Test
+    void removesDeactivatedCustomers() {
+        index.remove(12L);
+        index.flush();
+
+        assertEquals(List.of(), index.search("gonzaga", null, firstPage).getContent());
+    }
+
+    private static Customer customer(Long id, String firstName, String lastName, String email,
+                                     String documentNumber, User owner, String city) {
+        Customer customer = Customer.builder()
+                .id(id)
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .documentNumber(documentNumber)
+                .createdBy(owner)
+                .build();
+        customer.addAddress(Address.builder()
+                .street("Calle Principal 1")
+                .city(city)
+                .country("República Dominicana")
+                .active(true)
+                .build());
+        return customer;
+    }
+}
@@ -0,0 +1,71 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.dto.response.CustomerSuggestion;
+import com.oriontek.customermanagement.entity.Customer;
+import com.oriontek.customermanagement.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomerSuggestIndexTest {
+
+    private CustomerSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        User owner1 = User.builder().id(1L).build();
+        User owner2 = User.builder().id(2L).build();
+
+        index = new CustomerSuggestIndex();
+        index.put(customer(10L, "María", "González", "maria.gonzalez@correo.do", "001-1234567-8", owner1));
+        index.put(customer(11L, "Mario", "Gómez", "mario.gomez@correo.do", "001-7654321-0", owner1));
+        index.put(customer(12L, "Luis", "Gonzaga", "luis.gonzaga@empresa.do", "031-3333333-3", owner2));
+    }
+
+    @Test
+    void matchesNameWordsEmailAndDocumentIgnoringAccents() {
+        assertEquals(List.of(10L, 11L), ids(index.suggest("MAR", null, 10)));
+        assertEquals(List.of(12L, 10L), ids(index.suggest("gonz", null, 10)));
+        assertEquals(List.of(11L), ids(index.suggest("gómez", null, 10)));
+        assertEquals(List.of(12L), ids(index.suggest("luis.gon", null, 10)));
+        assertEquals(List.of(10L), ids(index.suggest("0011234", null, 10)));
+    }
+
+    @Test
+    void scopesByOwnerAndRespectsLimit() {
+        assertEquals(List.of(10L), ids(index.suggest("gonz", 1L, 10)));
+        assertEquals(List.of(12L), ids(index.suggest("gonz", 2L, 10)));
+        assertTrue(index.suggest("gonz", 3L, 10).isEmpty());
+        assertEquals(1, index.suggest("mar", null, 1).size());
+    }
+
+    @Test
+    void removesDeactivatedCustomers() {
+        index.remove(10L);
+
+        assertEquals(List.of(11L), ids(index.suggest("mar", null, 10)));
+        assertTrue(index.suggest("gonz", 1L, 10).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    private static List<Long> ids(List<CustomerSuggestion> suggestions) {
+        return suggestions.stream().map(CustomerSuggestion::id).toList();
+    }
+
+    private static Customer customer(Long id, String firstName, String lastName, String email,
+                                     String document, User owner) {
+        return Customer.builder()
+                .id(id)
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .documentNumber(document)
+                .createdBy(owner)
+                .active(true)
+                .build();
+    }
+}
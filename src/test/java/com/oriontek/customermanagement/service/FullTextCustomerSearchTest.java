@@ -0,0 +1,78 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FullTextCustomerSearchTest {
+
+    private final CustomerRepository repository = mock(CustomerRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final FullTextCustomerSearch search = new FullTextCustomerSearch(repository, jdbcTemplate);
+
+    @Test
+    void translatesTermToRequiredWordPrefixes() {
+        assertEquals("+maría* +gonz*", FullTextCustomerSearch.toBooleanQuery("María Gonz"));
+        assertEquals("+001* +1234567*", FullTextCustomerSearch.toBooleanQuery("001-1234567"));
+    }
+
+    @Test
+    void dropsOperatorsShortTokensAndStopwords() {
+        assertEquals("+juan* +correo*", FullTextCustomerSearch.toBooleanQuery("+juan* -de @correo.com (x)"));
+        assertEquals("", FullTextCustomerSearch.toBooleanQuery("la de"));
+    }
+
+    @Test
+    void usesLikeSearchUntilIndexExists() {
+        indexCount(0);
+        search.checkIndex();
+        Pageable pageable = PageRequest.of(0, 20);
+
+        search.searchActive("María Gonz", pageable);
+
+        verify(repository).searchActiveCustomers("María Gonz", true, pageable);
+        verify(repository, never()).fullTextSearchActiveCustomers(anyString(), any(Boolean.class), any(Pageable.class));
+    }
+
+    @Test
+    void passesBooleanQueryAndColumnSortToRepositoryOnceIndexExists() {
+        indexCount(1);
+        search.checkIndex();
+        when(repository.fullTextSearchActiveCustomersByOwner(anyString(), any(), any(Boolean.class), any(Pageable.class)))
+                .thenReturn(Page.empty());
+
+        search.searchActiveByOwner("María Gonz", 7L, PageRequest.of(1, 20, Sort.by("createdAt").descending()));
+
+        verify(repository).fullTextSearchActiveCustomersByOwner(
+                eq("+maría* +gonz*"), eq(7L), eq(true), eq(PageRequest.of(1, 20, Sort.by("created_at").descending())));
+    }
+
+    @Test
+    void fallsBackToLikeWhenNoWordIsIndexable() {
+        indexCount(1);
+        search.checkIndex();
+        Pageable pageable = PageRequest.of(0, 20);
+
+        search.searchActive("la de", pageable);
+
+        verify(repository).searchActiveCustomers("la de", true, pageable);
+    }
+
+    private void indexCount(int count) {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq(FullTextCustomerSearch.INDEX_NAME)))
+                .thenReturn(count);
+    }
+}
@@ -0,0 +1,133 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.dto.response.CustomerResponse;
+import com.oriontek.customermanagement.entity.Customer;
+import com.oriontek.customermanagement.entity.User;
+import com.oriontek.customermanagement.enums.Role;
+import com.oriontek.customermanagement.repository.CustomerRepository;
+import com.oriontek.customermanagement.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Búsqueda por relevancia sobre H2 con un índice desactualizado: los clientes que el
+ * índice aún conserva pero ya están inactivos no se devuelven, y la página queda corta
+ * sin cambiar el total.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("jpa-test")
+class RankedCustomerSearchTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private CustomerSearchIndex index;
+    private CustomerService customerService;
+    private User superAdmin;
+    private User admin;
+    private Customer active;
+    private Customer deactivated;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        superAdmin = user("superadmin@oriontek.com", Role.SUPERADMIN);
+        admin = user("admin@oriontek.com", Role.ADMIN);
+        User otherAdmin = user("ventas@oriontek.com", Role.ADMIN);
+
+        active = entityManager.persist(customer("María", "maria@correo.do", admin, true));
+        deactivated = entityManager.persist(customer("Mariela", "mariela@correo.do", admin, true));
+        Customer other = entityManager.persist(customer("Marisol", "marisol@correo.do", otherAdmin, true));
+        entityManager.flush();
+
+        index = new CustomerSearchIndex();
+        List.of(active, deactivated, other).forEach(index::put);
+        index.flush();
+
+        deactivated.setActive(false);
+        entityManager.flush();
+        entityManager.clear();
+
+        customerService = new CustomerService(customerRepository, mock(UserRepository.class),
+                mock(CustomerSearch.class), index, mock(CustomerSuggestIndex.class),
+                mock(CustomerSearchCache.class), mock(CustomerFacetCounter.class),
+                mock(ApplicationEventPublisher.class), mock(CursorCodec.class));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        SecurityContextHolder.clearContext();
+        index.close();
+    }
+
+    @Test
+    void superAdminDoesNotSeeCustomersDeactivatedAfterIndexing() {
+        authenticate(superAdmin);
+
+        List<Long> found = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            Page<CustomerResponse> result = customerService.searchCustomersRanked("correo", PageRequest.of(page, 1));
+            assertEquals(3, result.getTotalElements());
+            result.getContent().forEach(customer -> found.add(customer.id()));
+        }
+
+        assertEquals(2, found.size());
+        assertFalse(found.contains(deactivated.getId()));
+    }
+
+    @Test
+    void adminOnlySeesOwnActiveCustomers() {
+        authenticate(admin);
+
+        Page<CustomerResponse> page = customerService.searchCustomersRanked("correo", PageRequest.of(0, 10));
+
+        assertEquals(List.of(active.getId()), page.getContent().stream().map(CustomerResponse::id).toList());
+    }
+
+    private static void authenticate(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private User user(String email, Role role) {
+        return entityManager.persist(User.builder()
+                .email(email)
+                .password("{bcrypt}hash")
+                .firstName("Admin")
+                .lastName("OrionTek")
+                .role(role)
+                .active(true)
+                .build());
+    }
+
+    private static Customer customer(String firstName, String email, User owner, boolean active) {
+        return Customer.builder()
+                .firstName(firstName)
+                .lastName("Prueba")
+                .email(email)
+                .createdBy(owner)
+                .active(active)
+                .build();
+    }
+}
@@ -0,0 +1,150 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.entity.RefreshToken;
+import com.oriontek.customermanagement.entity.User;
+import com.oriontek.customermanagement.enums.Role;
+import com.oriontek.customermanagement.repository.RefreshTokenRepository;
+import com.oriontek.customermanagement.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rotación de refresh tokens sobre H2: rotación, detección de reutilización y rechazo
+ * de tokens expirados o de usuarios modificados.
+ *
+ * Sin transacción de prueba, para que cada llamada al servicio confirme su propia
+ * transacción como en producción (la revocación de la familia debe confirmarse aunque
+ * rotate lance la excepción).
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("jpa-test")
+@Import(RefreshTokenService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RefreshTokenRotationTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void seed() {
+        user = userRepository.save(User.builder()
+                .email("admin@oriontek.com")
+                .password("{bcrypt}hash")
+                .firstName("Admin")
+                .lastName("OrionTek")
+                .role(Role.ADMIN)
+                .active(true)
+                .build());
+    }
+
+    /**
+     * Los datos quedan confirmados, así que se borran para no afectar a otras pruebas
+     * que comparten la misma base de datos.
+     */
+    @AfterEach
+    void cleanUp() {
+        refreshTokenRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void rotationReturnsNewTokenAndInvalidatesTheOldOne() {
+        String original = refreshTokenService.issue(user);
+
+        RefreshTokenService.RotatedToken rotated = refreshTokenService.rotate(original);
+
+        assertNotEquals(original, rotated.refreshToken());
+        assertEquals(user.getId(), rotated.user().getId());
+        assertTrue(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(original)).orElseThrow().getRevoked());
+        assertEquals(familyOf(original), familyOf(rotated.refreshToken()));
+        assertNotEquals(rotated.refreshToken(), refreshTokenService.rotate(rotated.refreshToken()).refreshToken());
+    }
+
+    @Test
+    void replayingUsedTokenRevokesTheWholeFamilyAndCommits() {
+        String original = refreshTokenService.issue(user);
+        String otherFamily = refreshTokenService.issue(user);
+        String rotated = refreshTokenService.rotate(original).refreshToken();
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(original));
+
+        String familyId = familyOf(rotated);
+        assertTrue(refreshTokenRepository.findAll().stream()
+                .filter(token -> token.getFamilyId().equals(familyId))
+                .allMatch(RefreshToken::getRevoked));
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(rotated));
+
+        refreshTokenService.rotate(otherFamily);
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String token = refreshTokenService.issue(user);
+        RefreshToken stored = refreshTokenRepository.findAll().get(0);
+        stored.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        refreshTokenRepository.save(stored);
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(token));
+    }
+
+    @Test
+    void tokenIssuedBeforeVersionBumpIsRejected() {
+        String token = refreshTokenService.issue(user);
+        user.incrementTokenVersion();
+        userRepository.save(user);
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(token));
+    }
+
+    @Test
+    void tokenOfDeactivatedUserIsRejected() {
+        String token = refreshTokenService.issue(user);
+        user.setActive(false);
+        userRepository.save(user);
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(token));
+    }
+
+    @Test
+    void logoutRevokesTheWholeFamily() {
+        String original = refreshTokenService.issue(user);
+        String rotated = refreshTokenService.rotate(original).refreshToken();
+        String otherFamily = refreshTokenService.issue(user);
+
+        refreshTokenService.revoke(rotated);
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(rotated));
+        refreshTokenService.rotate(otherFamily);
+    }
+
+    private String familyOf(String rawToken) {
+        return refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(rawToken))
+                .map(RefreshToken::getFamilyId)
+                .orElseThrow();
+    }
+}
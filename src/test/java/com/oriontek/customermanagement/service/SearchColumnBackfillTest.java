@@ -0,0 +1,90 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.entity.Customer;
+import com.oriontek.customermanagement.entity.User;
+import com.oriontek.customermanagement.enums.Role;
+import com.oriontek.customermanagement.repository.CustomerRepository;
+import com.oriontek.customermanagement.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * El backfill completa las columnas de búsqueda sin modificar updated_at,
+ * que usa la consulta de cambios de otros nodos.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("jpa-test")
+class SearchColumnBackfillTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void fillsSearchColumnsWithoutTouchingUpdatedAt() {
+        User owner = entityManager.persist(User.builder()
+                .email("Admin@OrionTek.com")
+                .password("{bcrypt}hash")
+                .firstName("José")
+                .lastName("Núñez")
+                .role(Role.ADMIN)
+                .active(true)
+                .build());
+        Customer customer = entityManager.persist(Customer.builder()
+                .firstName("María")
+                .lastName("González")
+                .email("maria@correo.do")
+                .documentNumber("001-1234567-8")
+                .createdBy(owner)
+                .active(true)
+                .build());
+        entityManager.flush();
+
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE customers SET search_name = NULL, search_last_name = NULL, " +
+                        "search_email = NULL, search_document = NULL, updated_at = ?1")
+                .setParameter(1, UPDATED_AT)
+                .executeUpdate();
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE users SET search_name = NULL, search_last_name = NULL, " +
+                        "search_email = NULL, updated_at = ?1")
+                .setParameter(1, UPDATED_AT)
+                .executeUpdate();
+        entityManager.clear();
+
+        new SearchColumnBackfill(customerRepository, userRepository, new TransactionTemplate(transactionManager),
+                Runnable::run, true, 500).backfill();
+        entityManager.flush();
+        entityManager.clear();
+
+        Customer backfilledCustomer = customerRepository.findById(customer.getId()).orElseThrow();
+        assertEquals("maria gonzalez", backfilledCustomer.getSearchName());
+        assertEquals("00112345678", backfilledCustomer.getSearchDocument());
+        assertEquals(UPDATED_AT, backfilledCustomer.getUpdatedAt());
+
+        User backfilledOwner = userRepository.findById(owner.getId()).orElseThrow();
+        assertEquals("jose nunez", backfilledOwner.getSearchName());
+        assertEquals(UPDATED_AT, backfilledOwner.getUpdatedAt());
+    }
+}
@@ -0,0 +1,135 @@
+package com.oriontek.customermanagement.service;
+
+import com.oriontek.customermanagement.entity.RevokedToken;
+import com.oriontek.customermanagement.entity.User;
+import com.oriontek.customermanagement.enums.Role;
+import com.oriontek.customermanagement.repository.RevokedTokenRepository;
+import com.oriontek.customermanagement.repository.UserRepository;
+import com.oriontek.customermanagement.security.JwtAuthenticationFilter;
+import com.oriontek.customermanagement.security.JwtService;
+import com.oriontek.customermanagement.security.VerifiedToken;
+import com.oriontek.customermanagement.security.VerifiedTokenCache;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationServiceTest {
+
+    private static final String SECRET = "dGVzdC1zZWNyZXQta2V5LWZvci1qd3Qtc2lnbmluZy0yNTYtYml0cy1sb25n";
+    private static final Duration POLL_INTERVAL = Duration.ofSeconds(10);
+
+    private final User user = User.builder()
+            .id(42L)
+            .email("admin@oriontek.com")
+            .password("{bcrypt}hash")
+            .firstName("Admin")
+            .lastName("OrionTek")
+            .role(Role.ADMIN)
+            .active(true)
+            .tokenVersion(0L)
+            .build();
+
+    private RevokedTokenRepository repository;
+    private TokenRevocationService revocationService;
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RevokedTokenRepository.class);
+        revocationService = new TokenRevocationService(
+                repository, new SimpleMeterRegistry(), 256, Duration.ofMinutes(1), 1_000, POLL_INTERVAL);
+
+        jwtService = new JwtService(new VerifiedTokenCache(100, Duration.ofMinutes(1), 100, Duration.ofMinutes(1)));
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtService, "jwtAlgorithm", "HS256");
+        ReflectionTestUtils.setField(jwtService, "eddsaPrivateKey", "");
+        ReflectionTestUtils.setField(jwtService, "eddsaPublicKey", "");
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void filterRejectsTokenAfterLogout() throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(
+                jwtService, username -> user, null, revocationService);
+        AuthService authService = new AuthService(mock(AuthenticationManager.class), jwtService,
+                mock(CustomUserDetailsService.class), revocationService, mock(UserRepository.class),
+                mock(RefreshTokenService.class));
+        String token = jwtService.generateToken(user);
+
+        assertNotNull(authenticate(filter, token));
+
+        assertTrue(authService.logout(token));
+
+        assertNull(authenticate(filter, token));
+        verify(repository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void pollRegistersRevocationsFromOtherNodesWithOverlappingWindow() {
+        String remoteJti = "6f1c2a9e-0000-4000-8000-000000000001";
+        when(repository.findByRevokedAtAfterOrderByRevokedAtAsc(any())).thenReturn(List.of(RevokedToken.builder()
+                .jti(remoteJti)
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .revokedAt(LocalDateTime.now())
+                .build()));
+
+        LocalDateTime beforeFirstPoll = LocalDateTime.now();
+        revocationService.pollRevokedTokens();
+        LocalDateTime afterFirstPoll = LocalDateTime.now();
+        revocationService.pollRevokedTokens();
+
+        assertTrue(revocationService.isRevoked(tokenWithId(remoteJti)));
+        assertFalse(revocationService.isRevoked(tokenWithId("6f1c2a9e-0000-4000-8000-000000000002")));
+
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository, times(2)).findByRevokedAtAfterOrderByRevokedAtAsc(since.capture());
+        LocalDateTime secondSince = since.getAllValues().get(1);
+        assertFalse(secondSince.isAfter(afterFirstPoll.minus(POLL_INTERVAL)),
+                "La segunda consulta debe solaparse con la anterior");
+        assertFalse(secondSince.isBefore(beforeFirstPoll.minus(POLL_INTERVAL)));
+    }
+
+    private static VerifiedToken tokenWithId(String jti) {
+        return new VerifiedToken("admin@oriontek.com", null, List.of(), Jwts.claims().id(jti).build());
+    }
+
+    private Authentication authenticate(JwtAuthenticationFilter filter, String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/customers");
+        request.addHeader("Authorization", "Bearer " + token);
+        FilterChain chain = (req, res) -> { };
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,43 @@
+package com.oriontek.customermanagement.util;
+
+import com.oriontek.customermanagement.entity.Customer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SearchTextTest {
+
+    @Test
+    void foldsCaseAccentsAndWhitespace() {
+        assertEquals("jose martinez nunez", SearchText.fold("  José   MARTÍNEZ Núñez "));
+        assertEquals("00112345678", SearchText.alphanumeric("001-1234567-8"));
+        assertEquals("", SearchText.fold(null));
+    }
+
+    @Test
+    void escapesLikeWildcards() {
+        assertEquals("50!% off!_x!!%", SearchText.prefixPattern("50% off_x!"));
+    }
+
+    @Test
+    void customerSearchColumnsAreNormalized() {
+        Customer customer = Customer.builder()
+                .firstName("María")
+                .lastName("González")
+                .email("Maria.Gonzalez@Correo.do")
+                .documentNumber("001-1234567-8")
+                .build();
+
+        customer.updateSearchColumns();
+
+        assertEquals("maria gonzalez", customer.getSearchName());
+        assertEquals("gonzalez", customer.getSearchLastName());
+        assertEquals("maria.gonzalez@correo.do", customer.getSearchEmail());
+        assertEquals("00112345678", customer.getSearchDocument());
+
+        customer.setDocumentNumber(null);
+        customer.updateSearchColumns();
+        assertNull(customer.getSearchDocument());
+    }
+}